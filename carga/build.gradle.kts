@@ -0,0 +1,64 @@
+/*
+ * Teste de carga HTTP de ponta a ponta: inicia a aplicação sobre H2 ou um
+ * PostgreSQL embutido, popula o banco em massa e dispara o tráfego de produção
+ * (80% leituras do catálogo, 15% busca, 5% empréstimo e devolução) contra os
+ * endpoints reais a uma taxa alvo, reportando histogramas de latência.
+ *
+ * Execução: ./gradlew :carga:run
+ * Parâmetros: ./gradlew :carga:run --args="--banco=postgres --rps=300 --duracao=120 --livros=500000"
+ * Threads virtuais: ./gradlew :carga:run -Pcarga.jdk=21 --args="--banco=postgres --clientes=2000 --threads-virtuais=true"
+ * API reativa: ./gradlew :carga:run --args="--banco=postgres --alvo=rx --clientes=2000 --leitura-lenta-ms=50"
+ */
+
+plugins {
+    application
+}
+
+// O classpath da API reativa é usado pelo teste com --alvo=rx
+evaluationDependsOn(":reativo")
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // Classes da aplicação e suas dependências de execução
+    implementation(project(":"))
+
+    implementation(platform(libs.spring.boot.dependencies))
+    implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-jdbc")
+    implementation(libs.hdrhistogram)
+    implementation(libs.embedded.postgres)
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(17)
+    }
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+application {
+    mainClass = "com.biblioteca.carga.TesteCarga"
+    applicationDefaultJvmArgs = listOf("-Xmx4g")
+}
+
+tasks.named<JavaExec>("run") {
+    // Histogramas (.hgrm) de cada operação, para comparar execuções
+    workingDir = layout.buildDirectory.dir("resultados").get().asFile
+    doFirst { workingDir.mkdirs() }
+    // A API reativa roda em processo próprio, com o classpath do módulo :reativo
+    val classpathReativo = project(":reativo").the<SourceSetContainer>()["main"].runtimeClasspath
+    dependsOn(classpathReativo)
+    jvmArgumentProviders.add(CommandLineArgumentProvider {
+        listOf("-Dcarga.reativo.classpath=" + classpathReativo.asPath)
+    })
+    // Outro JDK para a execução, por exemplo 21 para as threads virtuais
+    providers.gradleProperty("carga.jdk").orNull?.let { versao ->
+        javaLauncher = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(versao) }
+    }
+}
@@ -0,0 +1,94 @@
+package com.biblioteca.carga;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A API reativa ({@code :reativo}) executada em processo próprio, como em
+ * produção, apontando para o mesmo PostgreSQL da aplicação. O classpath vem
+ * da propriedade {@code carga.reativo.classpath}, definida pela tarefa
+ * {@code :carga:run}.
+ */
+final class ApiReativa implements AutoCloseable {
+
+    private static final Duration INICIALIZACAO = Duration.ofSeconds(60);
+
+    private final Process processo;
+    private final int porta;
+
+    private ApiReativa(Process processo, int porta) {
+        this.processo = processo;
+        this.porta = porta;
+    }
+
+    static ApiReativa iniciar(int portaPostgres) throws IOException, InterruptedException {
+        String classpath = System.getProperty("carga.reativo.classpath");
+        if (classpath == null) {
+            throw new IllegalStateException("Propriedade carga.reativo.classpath ausente; execute por ./gradlew :carga:run.");
+        }
+        int porta = portaLivre();
+        Process processo = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-Xmx1g",
+                "-cp", classpath, "com.biblioteca.reativo.AplicacaoReativa",
+                "--server.port=" + porta,
+                "--spring.r2dbc.url=r2dbc:postgresql://localhost:" + portaPostgres + "/postgres",
+                "--spring.r2dbc.username=postgres",
+                "--spring.r2dbc.password=postgres",
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off")
+                .inheritIO()
+                .start();
+        var api = new ApiReativa(processo, porta);
+        api.aguardar();
+        return api;
+    }
+
+    int porta() {
+        return porta;
+    }
+
+    private void aguardar() throws InterruptedException {
+        var cliente = HttpClient.newHttpClient();
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/rx/livros/1")).build();
+        long limite = System.nanoTime() + INICIALIZACAO.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("A API reativa terminou durante a inicialização.");
+            }
+            try {
+                cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(250);
+            }
+        }
+        close();
+        throw new IllegalStateException("A API reativa não respondeu em " + INICIALIZACAO.toSeconds() + "s.");
+    }
+
+    private static int portaLivre() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        processo.destroy();
+        try {
+            if (!processo.waitFor(10, TimeUnit.SECONDS)) {
+                processo.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            processo.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
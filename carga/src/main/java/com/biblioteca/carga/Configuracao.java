@@ -0,0 +1,89 @@
+package com.biblioteca.carga;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de argumentos {@code --chave=valor}.
+ *
+ * @param banco       {@code h2} ou {@code postgres} (PostgreSQL embutido)
+ * @param alvo        endpoints exercitados
+ * @param livros      quantidade de livros gerados
+ * @param produtos    quantidade de produtos gerados
+ * @param usuarios    quantidade de usuários gerados
+ * @param emprestimos quantidade de empréstimos gerados
+ * @param rps         taxa alvo de requisições por segundo
+ * @param clientes    quando maior que zero, substitui a taxa alvo por esse
+ *                    número de clientes simultâneos, cada um enviando a
+ *                    próxima requisição assim que recebe a resposta
+ * @param aquecimento duração do aquecimento, descartado do relatório
+ * @param duracao     duração da medição
+ * @param erroMaximo  taxa de erros acima da qual o teste termina com falha
+ * @param threadsVirtuais executa as requisições da aplicação em threads
+ *                    virtuais (exige JDK 21)
+ * @param tamanho     tamanho das páginas pedidas nas listagens
+ * @param leituraLenta pausa do cliente entre cada bloco recebido nas
+ *                    leituras, para simular clientes lentos; zero lê sem pausa
+ */
+record Configuracao(String banco, Alvo alvo, int livros, int produtos, int usuarios, int emprestimos,
+        int rps, int clientes, Duration aquecimento, Duration duracao, double erroMaximo, boolean threadsVirtuais,
+        int tamanho, Duration leituraLenta) {
+
+    /**
+     * Endpoints exercitados: a mistura completa na aplicação, só as leituras
+     * de catálogo na aplicação, ou as mesmas leituras na API reativa
+     * ({@code /rx}), que roda em processo próprio sobre o PostgreSQL.
+     */
+    enum Alvo {
+        APLICACAO, CATALOGO, RX
+    }
+
+    static Configuracao de(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + ". Use --chave=valor.");
+            }
+            valores.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        var config = new Configuracao(
+                valores.getOrDefault("banco", "h2"),
+                Alvo.valueOf(valores.getOrDefault("alvo", "aplicacao").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(valores.getOrDefault("livros", "100000")),
+                Integer.parseInt(valores.getOrDefault("produtos", "50000")),
+                Integer.parseInt(valores.getOrDefault("usuarios", "5000")),
+                Integer.parseInt(valores.getOrDefault("emprestimos", "100000")),
+                Integer.parseInt(valores.getOrDefault("rps", "200")),
+                Integer.parseInt(valores.getOrDefault("clientes", "0")),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("aquecimento", "10"))),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("duracao", "60"))),
+                Double.parseDouble(valores.getOrDefault("erro-maximo", "0.01")),
+                Boolean.parseBoolean(valores.getOrDefault("threads-virtuais", "false")),
+                Integer.parseInt(valores.getOrDefault("tamanho", "20")),
+                Duration.ofMillis(Long.parseLong(valores.getOrDefault("leitura-lenta-ms", "0"))));
+        if (!config.banco.equals("h2") && !config.postgres()) {
+            throw new IllegalArgumentException("Banco inválido: " + config.banco + ". Use h2 ou postgres.");
+        }
+        if (config.alvo == Alvo.RX && !config.postgres()) {
+            throw new IllegalArgumentException("A API reativa usa R2DBC sobre PostgreSQL. Use --banco=postgres.");
+        }
+        return config;
+    }
+
+    /**
+     * Nome da execução, usado no diretório dos histogramas.
+     */
+    String rotulo() {
+        return banco + "-" + alvo.name().toLowerCase(Locale.ROOT) + (threadsVirtuais ? "-virtuais" : "");
+    }
+
+    boolean modeloFechado() {
+        return clientes > 0;
+    }
+
+    boolean postgres() {
+        return banco.equals("postgres");
+    }
+}
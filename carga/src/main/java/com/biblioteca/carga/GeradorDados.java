@@ -0,0 +1,75 @@
+package com.biblioteca.carga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Popula o banco em massa com INSERT ... SELECT sobre uma série de números,
+ * sem passar pela aplicação: {@code system_range} no H2 e
+ * {@code generate_series} no PostgreSQL.
+ *
+ * <p>
+ * Os livros seguem um ciclo de quatro: com empréstimo ativo, atrasado, ou
+ * devolvido (dois casos). Livros com {@code id % 4 >= 2} estão sempre
+ * disponíveis, o que permite ao tráfego emprestar e devolver sem conflitos
+ * previsíveis. Empréstimos além do número de livros entram como histórico já
+ * devolvido.
+ * </p>
+ */
+class GeradorDados {
+
+    static final int CATEGORIAS = 20;
+    static final int AUTORES = 5_000;
+
+    private static final String TEXTO = "Texto de exemplo para sinopses e descrições geradas. ".repeat(6);
+
+    private final JdbcTemplate jdbc;
+    private final boolean postgres;
+
+    GeradorDados(JdbcTemplate jdbc, boolean postgres) {
+        this.jdbc = jdbc;
+        this.postgres = postgres;
+    }
+
+    void popular(Configuracao config) {
+        int livros = config.livros();
+        int emprestimos = config.emprestimos();
+
+        jdbc.update("insert into tb_categoria (id, nome) select x, 'Categoria ' || x from " + serie(), CATEGORIAS);
+        jdbc.update("insert into tb_usuario (id, nome, email, cpf) "
+                + "select x, 'Usuário ' || x, 'usuario' || x || '@biblioteca.com', lpad(cast(x as varchar), 11, '0') from " + serie(),
+                config.usuarios());
+        jdbc.update("insert into tb_livro (id, titulo, autor, isbn, data_publicacao, editora, sinopse, numero_paginas, disponivel, categoria_id) "
+                + "select x, 'Livro ' || x, 'Autor ' || mod(x, " + AUTORES + "), 'isbn-' || x, date '2000-01-01', 'Editora', ?, 200, "
+                + "x > ? or mod(x, 4) >= 2, mod(x, " + CATEGORIAS + ") + 1 from " + serie(),
+                TEXTO, emprestimos, livros);
+        jdbc.update("insert into tb_produto (id, nome, descricao, preco, quantidade_estoque, codigo_barras, data_cadastro, ativo, categoria_id) "
+                + "select x, 'Produto ' || x, ?, 10 + mod(x, 90), mod(x, 50), '789' || x, current_timestamp, mod(x, 10) <> 0, "
+                + "mod(x, " + CATEGORIAS + ") + 1 from " + serie(),
+                TEXTO, config.produtos());
+        // Status: 1 = ATIVO, 3 = ATRASADO, 2 = DEVOLVIDO
+        jdbc.update("insert into tb_emprestimo (id, usuario_id, livro_id, data_emprestimo, data_prevista_devolucao, data_real_devolucao, status) "
+                + "select x, mod(x, ?) + 1, mod(x - 1, ?) + 1, current_date - 30, "
+                + "case when x <= ? and mod(x, 4) = 1 then current_date - 10 else current_date + 7 end, "
+                + "case when x > ? or mod(x, 4) >= 2 then current_date - 20 end, "
+                + "case when x > ? then 2 when mod(x, 4) = 0 then 1 when mod(x, 4) = 1 then 3 else 2 end from " + serie(),
+                config.usuarios(), livros, livros, livros, livros, emprestimos);
+
+        // As sequências continuam depois dos IDs inseridos, com folga para o bloco do otimizador pooled
+        reiniciar("tb_usuario_seq", config.usuarios());
+        reiniciar("tb_livro_seq", livros);
+        reiniciar("tb_produto_seq", config.produtos());
+        reiniciar("tb_emprestimo_seq", emprestimos);
+
+        if (postgres) {
+            jdbc.execute("analyze");
+        }
+    }
+
+    private String serie() {
+        return postgres ? "generate_series(1, ?) as s(x)" : "system_range(1, ?)";
+    }
+
+    private void reiniciar(String sequencia, int ultimoId) {
+        jdbc.execute("alter sequence " + sequencia + " restart with " + (ultimoId + 100));
+    }
+}
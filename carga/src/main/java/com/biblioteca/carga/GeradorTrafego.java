@@ -0,0 +1,186 @@
+package com.biblioteca.carga;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.biblioteca.service.Cursor;
+
+/**
+ * Gerador de carga em modelo aberto: as requisições partem em intervalos fixos
+ * para a taxa alvo, sem esperar as respostas anteriores.
+ *
+ * <p>
+ * A latência é medida a partir do instante em que a requisição deveria ter
+ * partido, e não de quando de fato partiu. Assim, se o servidor ou o próprio
+ * gerador atrasam, o tempo de fila entra na medição em vez de ser escondido
+ * (omissão coordenada).
+ * </p>
+ *
+ * <p>
+ * Com {@code --clientes}, o gerador passa ao modelo fechado: um número fixo de
+ * clientes simultâneos, cada um enviando a próxima requisição ao receber a
+ * resposta. A vazão passa a ser o resultado, e a latência conta a partir do
+ * envio, o que serve para comparar configurações do servidor sob a mesma
+ * concorrência.
+ * </p>
+ */
+class GeradorTrafego {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String base;
+    private final Configuracao config;
+
+    GeradorTrafego(String base, Configuracao config) {
+        this.base = base;
+        this.config = config;
+    }
+
+    /**
+     * Envia tráfego pela duração informada e aguarda as respostas pendentes.
+     */
+    Map<Operacao, Medicao> executar(Duration duracao) {
+        Map<Operacao, Medicao> medicoes = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : Operacao.values()) {
+            medicoes.put(operacao, new Medicao());
+        }
+        if (config.modeloFechado()) {
+            executarClientes(duracao, medicoes);
+        } else {
+            executarTaxa(duracao, medicoes);
+        }
+        return medicoes;
+    }
+
+    private void executarTaxa(Duration duracao, Map<Operacao, Medicao> medicoes) {
+        long intervalo = 1_000_000_000L / config.rps();
+        long total = duracao.toSeconds() * config.rps();
+        long inicio = System.nanoTime();
+        CompletableFuture<?>[] pendentes = new CompletableFuture<?>[(int) total];
+
+        for (int i = 0; i < total; i++) {
+            long previsto = inicio + i * intervalo;
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            Operacao operacao = sortear();
+            Medicao medicao = medicoes.get(operacao);
+            pendentes[i] = enviar(operacao)
+                    .handle((status, erro) -> {
+                        medicao.registrar(System.nanoTime() - previsto, erro == null ? status : 0);
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(pendentes).join();
+    }
+
+    private void executarClientes(Duration duracao, Map<Operacao, Medicao> medicoes) {
+        long fim = System.nanoTime() + duracao.toNanos();
+        CompletableFuture<?>[] clientes = new CompletableFuture<?>[config.clientes()];
+        for (int i = 0; i < clientes.length; i++) {
+            clientes[i] = cliente(fim, medicoes);
+        }
+        CompletableFuture.allOf(clientes).join();
+    }
+
+    // Uma requisição por vez: a próxima parte quando a anterior termina
+    private CompletableFuture<Void> cliente(long fim, Map<Operacao, Medicao> medicoes) {
+        long inicio = System.nanoTime();
+        if (inicio >= fim) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Operacao operacao = sortear();
+        return enviar(operacao)
+                .handle((status, erro) -> {
+                    medicoes.get(operacao).registrar(System.nanoTime() - inicio, erro == null ? status : 0);
+                    return null;
+                })
+                .thenCompose(nada -> cliente(fim, medicoes));
+    }
+
+    private Operacao sortear() {
+        int peso = config.alvo() == Configuracao.Alvo.APLICACAO ? Operacao.pesoTotal() : Operacao.pesoCatalogo();
+        return Operacao.sortear(ThreadLocalRandom.current().nextInt(peso));
+    }
+
+    private CompletableFuture<Integer> enviar(Operacao operacao) {
+        var aleatorio = ThreadLocalRandom.current();
+        String view = aleatorio.nextBoolean() ? "summary" : "full";
+        long livro = aleatorio.nextInt(config.livros());
+        long produto = aleatorio.nextInt(config.produtos());
+        if (config.alvo() == Configuracao.Alvo.RX) {
+            // A API reativa pagina por ID, sem cursor opaco
+            return switch (operacao) {
+                case LISTAR_LIVROS -> get("/rx/livros?tamanho=" + config.tamanho() + "&view=" + view + "&aposId=" + livro);
+                case LIVRO_POR_ID -> get("/rx/livros/" + (livro + 1));
+                case LISTAR_PRODUTOS -> get("/rx/produtos?tamanho=" + config.tamanho() + "&view=summary&aposId=" + produto);
+                case PRODUTO_POR_ID -> get("/rx/produtos/" + (produto + 1));
+                default -> throw new IllegalStateException("Operação fora da API reativa: " + operacao);
+            };
+        }
+        return switch (operacao) {
+            case LISTAR_LIVROS -> get("/livros?tamanho=" + config.tamanho() + "&view=" + view
+                    + "&cursor=" + Cursor.codificar(livro));
+            case LIVRO_POR_ID -> get("/livros/" + (livro + 1));
+            case LISTAR_PRODUTOS -> get("/produtos?tamanho=" + config.tamanho() + "&view=summary&cursor="
+                    + Cursor.codificar(produto));
+            case PRODUTO_POR_ID -> get("/produtos/" + (produto + 1));
+            case PESQUISAR_LIVROS -> get("/livros/search?tamanho=20&q="
+                    + URLEncoder.encode("autor " + aleatorio.nextInt(GeradorDados.AUTORES), StandardCharsets.UTF_8));
+            case EMPRESTAR_DEVOLVER -> emprestarEDevolver();
+        };
+    }
+
+    /**
+     * Empresta um livro do grupo sempre disponível ({@code id % 4 >= 2}) e o
+     * devolve em seguida. Dois sorteios no mesmo livro ao mesmo tempo resultam
+     * em 409, contado à parte dos erros.
+     */
+    private CompletableFuture<Integer> emprestarEDevolver() {
+        var aleatorio = ThreadLocalRandom.current();
+        long livroId = 4L * aleatorio.nextInt(config.livros() / 4) + 2 + aleatorio.nextInt(2);
+        long usuarioId = aleatorio.nextInt(config.usuarios()) + 1;
+        return cliente.sendAsync(post("/emprestimos/realizar?usuarioId=" + usuarioId + "&livroId=" + livroId),
+                        HttpResponse.BodyHandlers.ofString())
+                .thenCompose(resposta -> {
+                    Matcher id = ID.matcher(resposta.body());
+                    if (resposta.statusCode() != 201 || !id.find()) {
+                        return CompletableFuture.completedFuture(resposta.statusCode());
+                    }
+                    return cliente.sendAsync(post("/emprestimos/devolver/" + id.group(1)), HttpResponse.BodyHandlers.discarding())
+                            .thenApply(HttpResponse::statusCode);
+                });
+    }
+
+    private CompletableFuture<Integer> get(String caminho) {
+        var requisicao = HttpRequest.newBuilder(URI.create(base + caminho)).timeout(TIMEOUT).GET().build();
+        HttpResponse.BodyHandler<Void> leitura = config.leituraLenta().isZero()
+                ? HttpResponse.BodyHandlers.discarding()
+                : LeituraLenta.com(config.leituraLenta());
+        return cliente.sendAsync(requisicao, leitura).thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest post(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho)).timeout(TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+}
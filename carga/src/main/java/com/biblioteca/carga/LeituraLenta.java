@@ -0,0 +1,64 @@
+package com.biblioteca.carga;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corpo de resposta consumido devagar: cada bloco recebido só é seguido do
+ * pedido do próximo depois de uma pausa. O cliente HTTP deixa de ler o socket
+ * enquanto não há demanda, e o servidor sente o cliente lento na escrita.
+ */
+final class LeituraLenta implements HttpResponse.BodySubscriber<Void> {
+
+    private static final ScheduledExecutorService RELOGIO = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        var thread = new Thread(tarefa, "leitura-lenta");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CompletableFuture<Void> fim = new CompletableFuture<>();
+    private final long pausaMs;
+    private Flow.Subscription assinatura;
+
+    private LeituraLenta(Duration pausa) {
+        this.pausaMs = pausa.toMillis();
+    }
+
+    static HttpResponse.BodyHandler<Void> com(Duration pausa) {
+        return resposta -> new LeituraLenta(pausa);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription assinatura) {
+        this.assinatura = assinatura;
+        assinatura.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> blocos) {
+        RELOGIO.schedule(() -> assinatura.request(1), pausaMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onError(Throwable erro) {
+        fim.completeExceptionally(erro);
+    }
+
+    @Override
+    public void onComplete() {
+        fim.complete(null);
+    }
+
+    @Override
+    public CompletionStage<Void> getBody() {
+        return fim;
+    }
+}
@@ -0,0 +1,42 @@
+package com.biblioteca.carga;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latências e erros de uma operação. As latências são registradas em
+ * microssegundos, de 1 µs a 60 s, com três dígitos significativos.
+ */
+class Medicao {
+
+    private final ConcurrentHistogram latencias = new ConcurrentHistogram(1, 60_000_000, 3);
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder conflitos = new LongAdder();
+
+    void registrar(long latenciaNanos, int status) {
+        latencias.recordValue(Math.min(Math.max(latenciaNanos / 1_000, 1), latencias.getHighestTrackableValue()));
+        if (status == 409) {
+            conflitos.increment();
+        } else if (status < 200 || status >= 300) {
+            erros.increment();
+        }
+    }
+
+    Histogram latencias() {
+        return latencias;
+    }
+
+    long total() {
+        return latencias.getTotalCount();
+    }
+
+    long erros() {
+        return erros.sum();
+    }
+
+    long conflitos() {
+        return conflitos.sum();
+    }
+}
@@ -0,0 +1,48 @@
+package com.biblioteca.carga;
+
+/**
+ * Operações do tráfego sintético e seu peso na mistura: 80% leituras de
+ * catálogo, 15% busca textual e 5% empréstimo seguido de devolução. As
+ * leituras de catálogo vêm primeiro, de modo que um sorteio abaixo de
+ * {@link #pesoCatalogo()} escolhe apenas entre elas.
+ */
+enum Operacao {
+
+    LISTAR_LIVROS(20),
+    LIVRO_POR_ID(25),
+    LISTAR_PRODUTOS(15),
+    PRODUTO_POR_ID(20),
+    PESQUISAR_LIVROS(15),
+    EMPRESTAR_DEVOLVER(5);
+
+    private static final int PESO_TOTAL = 100;
+    private static final int PESO_CATALOGO = 80;
+
+    private final int peso;
+
+    Operacao(int peso) {
+        this.peso = peso;
+    }
+
+    /**
+     * Escolhe a operação correspondente a um sorteio entre 0 e 99.
+     */
+    static Operacao sortear(int sorteio) {
+        int acumulado = 0;
+        for (Operacao operacao : values()) {
+            acumulado += operacao.peso;
+            if (sorteio < acumulado) {
+                return operacao;
+            }
+        }
+        throw new IllegalArgumentException("Sorteio fora do intervalo 0.." + (PESO_TOTAL - 1) + ": " + sorteio);
+    }
+
+    static int pesoTotal() {
+        return PESO_TOTAL;
+    }
+
+    static int pesoCatalogo() {
+        return PESO_CATALOGO;
+    }
+}
@@ -0,0 +1,74 @@
+package com.biblioteca.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Imprime os percentis de latência por operação e grava a distribuição
+ * completa de cada uma em {@code <operacao>.hgrm}, no formato lido pelo
+ * HdrHistogram plotter.
+ */
+class Relatorio {
+
+    private static final double MICROS_POR_MS = 1_000.0;
+
+    private final Map<Operacao, Medicao> medicoes;
+    private final Duration duracao;
+
+    Relatorio(Map<Operacao, Medicao> medicoes, Duration duracao) {
+        this.medicoes = medicoes;
+        this.duracao = duracao;
+    }
+
+    void imprimir(PrintStream saida) {
+        saida.printf(Locale.ROOT, "%-20s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operacao", "total", "erros", "409", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram todas = new Histogram(3);
+        medicoes.forEach((operacao, medicao) -> {
+            if (medicao.total() == 0) {
+                // Operação fora do alvo escolhido
+                return;
+            }
+            Histogram latencias = medicao.latencias();
+            todas.add(latencias);
+            saida.printf(Locale.ROOT, "%-20s %9d %7d %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operacao.name().toLowerCase(Locale.ROOT), medicao.total(), medicao.erros(), medicao.conflitos(),
+                    ms(latencias, 50), ms(latencias, 90), ms(latencias, 99), ms(latencias, 99.9),
+                    latencias.getMaxValue() / MICROS_POR_MS);
+        });
+        saida.printf(Locale.ROOT, "%ntotal: %d requisições, %.1f req/s, taxa de erros %.3f%%, p99 %.2f ms%n",
+                todas.getTotalCount(), todas.getTotalCount() / (double) duracao.toSeconds(),
+                taxaErros() * 100, ms(todas, 99));
+    }
+
+    void gravar(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        for (var entrada : medicoes.entrySet()) {
+            Path arquivo = diretorio.resolve(entrada.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream saida = new PrintStream(Files.newOutputStream(arquivo))) {
+                entrada.getValue().latencias().outputPercentileDistribution(saida, MICROS_POR_MS);
+            }
+        }
+    }
+
+    /**
+     * Fração das requisições com erro, sem contar os conflitos (409) esperados
+     * quando dois empréstimos disputam o mesmo livro.
+     */
+    double taxaErros() {
+        long total = medicoes.values().stream().mapToLong(Medicao::total).sum();
+        long erros = medicoes.values().stream().mapToLong(Medicao::erros).sum();
+        return total == 0 ? 0 : erros / (double) total;
+    }
+
+    private static double ms(Histogram latencias, double percentil) {
+        return latencias.getValueAtPercentile(percentil) / MICROS_POR_MS;
+    }
+}
@@ -0,0 +1,99 @@
+package com.biblioteca.carga;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.biblioteca.Application;
+import com.biblioteca.service.EstatisticaService;
+import com.biblioteca.service.busca.CatalogoIndexListener;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Teste de carga HTTP de ponta a ponta: sobe a aplicação numa porta livre
+ * sobre H2 ou PostgreSQL embutido, popula o banco, aquece a JVM e mede a
+ * mistura de {@link Operacao} à taxa alvo ou com um número fixo de clientes.
+ * Com {@code --alvo=rx}, as mesmas leituras de catálogo vão para a API reativa,
+ * iniciada em outro processo sobre o mesmo banco.
+ *
+ * <p>
+ * Termina com código 1 quando a taxa de erros passa de {@code --erro-maximo},
+ * para que uma regressão interrompa o pipeline antes do deploy.
+ * </p>
+ */
+public class TesteCarga {
+
+    public static void main(String[] args) throws Exception {
+        Configuracao config = Configuracao.de(args);
+        EmbeddedPostgres postgres = config.postgres() ? EmbeddedPostgres.start() : null;
+
+        List<String> argumentos = new ArrayList<>(List.of(
+                // Argumentos de linha de comando, para prevalecer sobre os perfis
+                "--server.port=0",
+                "--biblioteca.sql.monitor.habilitado=false",
+                "--biblioteca.limite.habilitado=false",
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off"));
+        if (postgres != null) {
+            argumentos.add("--spring.profiles.active=prd");
+            argumentos.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+            argumentos.add("--spring.datasource.username=postgres");
+            argumentos.add("--spring.datasource.password=postgres");
+        } else {
+            argumentos.add("--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1");
+        }
+        if (config.threadsVirtuais()) {
+            argumentos.add("--biblioteca.threads-virtuais.habilitado=true");
+        }
+
+        int codigo;
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(Application.class)
+                .run(argumentos.toArray(String[]::new))) {
+            System.out.printf("Populando %s: %d livros, %d produtos, %d usuários, %d empréstimos%n",
+                    config.banco(), config.livros(), config.produtos(), config.usuarios(), config.emprestimos());
+            new GeradorDados(contexto.getBean(JdbcTemplate.class), postgres != null).popular(config);
+            contexto.getBean(EstatisticaService.class).reconciliar();
+            contexto.getBean(CatalogoIndexListener.class).reconstruir();
+
+            if (config.alvo() == Configuracao.Alvo.RX) {
+                try (var reativa = ApiReativa.iniciar(postgres.getPort())) {
+                    codigo = medir(config, reativa.porta());
+                }
+            } else {
+                codigo = medir(config, ((WebServerApplicationContext) contexto).getWebServer().getPort());
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+        System.exit(codigo);
+    }
+
+    private static int medir(Configuracao config, int porta) throws IOException {
+        var gerador = new GeradorTrafego("http://localhost:" + porta, config);
+        String carga = config.modeloFechado()
+                ? config.clientes() + " clientes simultâneos"
+                : config.rps() + " req/s";
+        if (config.alvo() == Configuracao.Alvo.RX) {
+            System.out.println("API reativa (WebFlux + R2DBC)");
+        } else {
+            System.out.printf("Threads %s no servidor%n", config.threadsVirtuais() ? "virtuais" : "de plataforma");
+        }
+        System.out.printf("Aquecendo por %ds com %s%n", config.aquecimento().toSeconds(), carga);
+        gerador.executar(config.aquecimento());
+        System.out.printf("Medindo por %ds com %s%n%n", config.duracao().toSeconds(), carga);
+        var relatorio = new Relatorio(gerador.executar(config.duracao()), config.duracao());
+
+        relatorio.imprimir(System.out);
+        relatorio.gravar(Path.of(config.rotulo()));
+        return relatorio.taxaErros() > config.erroMaximo() ? 1 : 0;
+    }
+}
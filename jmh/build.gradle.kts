@@ -0,0 +1,71 @@
+/*
+ * Benchmarks JMH da API: mapeamento de DTOs, serialização (JSON, Smile e CBOR), limitador de
+ * requisições, operações dos serviços sobre um H2 embutido populado com 10^4 a 10^6 registros,
+ * carga em lote com e sem lotes JDBC, e arquivamento e histórico de empréstimos em H2 ou PostgreSQL.
+ *
+ * Execução: ./gradlew :jmh:jmh
+ * Filtrando benchmarks: ./gradlew :jmh:jmh -Pjmh.includes=DtoBenchmark
+ * Resultados em JSON: jmh/build/results/jmh/results.json
+ * Histórico em escala de produção:
+ *   ./gradlew :jmh:jmh -Pjmh.includes=HistoricoEmprestimosBenchmark -Pjmh.banco=postgres -Pjmh.emprestimos=50000000
+ */
+
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // Classes da aplicação e suas dependências de execução (H2, Hibernate, Lucene...)
+    jmh(project(":"))
+
+    // A aplicação declara as dependências como implementation; o que os benchmarks
+    // usam diretamente precisa estar no classpath de compilação deste módulo
+    jmh(platform(libs.spring.boot.dependencies))
+    jmh("org.springframework.boot:spring-boot-starter-data-jpa")
+    jmh("org.springframework.boot:spring-boot-starter-json")
+    jmh("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    jmh("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    jmh(libs.embedded.postgres)
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(17)
+    }
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    includes = listOf(providers.gradleProperty("jmh.includes").getOrElse(".*"))
+    fork = 1
+    // O banco populado com 10^6 livros fica inteiro em memória
+    jvmArgs = listOf("-Xmx4g")
+    warmupIterations = 2
+    warmup = "5s"
+    iterations = 5
+    timeOnIteration = "5s"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    // Banco e volume do HistoricoEmprestimosBenchmark, substituindo os valores de @Param
+    providers.gradleProperty("jmh.banco").orNull?.let {
+        benchmarkParameters.put("banco", objects.listProperty<String>().value(listOf(it)))
+    }
+    providers.gradleProperty("jmh.emprestimos").orNull?.let {
+        benchmarkParameters.put("emprestimos", objects.listProperty<String>().value(listOf(it)))
+    }
+}
+
+// Os binários do PostgreSQL embutido já estão no classpath da execução; uma
+// segunda cópia dentro do jar dos benchmarks impede o PostgreSQL de subir
+tasks.named<Jar>("jmhJar") {
+    exclude("postgres-*.txz")
+}
@@ -0,0 +1,56 @@
+package com.biblioteca.jmh;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.biblioteca.domain.model.Categoria;
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.Produto;
+
+/**
+ * Registros de exemplo com o mesmo perfil dos dados reais, incluindo os
+ * textos longos de sinopse e descrição.
+ */
+final class Amostras {
+
+    static final String TEXTO_LONGO = "Romance narrado em primeira pessoa sobre memória, ciúme e dúvida. ".repeat(25);
+
+    private Amostras() {
+    }
+
+    static Livro livro(long id) {
+        Livro livro = new Livro();
+        livro.setId(id);
+        livro.setTitulo("Dom Casmurro " + id);
+        livro.setAutor("Machado de Assis");
+        livro.setIsbn("978-85-" + id);
+        livro.setDataPublicacao(LocalDate.of(1899, 1, 1));
+        livro.setEditora("Garnier");
+        livro.setSinopse(TEXTO_LONGO);
+        livro.setNumeroPaginas(256);
+        livro.setDisponivel(true);
+        livro.setCategoria(categoria(id % 20 + 1));
+        return livro;
+    }
+
+    static Produto produto(long id) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome("Marcador de página " + id);
+        produto.setDescricao(TEXTO_LONGO);
+        produto.setPreco(new BigDecimal("12.90"));
+        produto.setQuantidadeEstoque(40);
+        produto.setCodigoBarras("789" + id);
+        produto.setDataCadastro(LocalDateTime.of(2024, 1, 1, 10, 0));
+        produto.setAtivo(true);
+        produto.setCategoria(categoria(id % 20 + 1));
+        return produto;
+    }
+
+    private static Categoria categoria(long id) {
+        Categoria categoria = new Categoria();
+        categoria.setId(id);
+        return categoria;
+    }
+}
@@ -0,0 +1,81 @@
+package com.biblioteca.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.biblioteca.Application;
+import com.biblioteca.service.EstatisticaService;
+import com.biblioteca.service.busca.CatalogoIndexListener;
+
+/**
+ * Aplicação iniciada sem servidor web sobre um H2 em memória, populado com
+ * {@code linhas} livros e empréstimos por INSERT ... SELECT.
+ *
+ * <p>
+ * Os livros seguem um ciclo de quatro: com empréstimo ativo, atrasado, ou
+ * devolvido (dois casos). Os dois últimos ficam disponíveis, o que permite aos
+ * benchmarks emprestar e devolver qualquer livro com {@code id % 4 >= 2}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class BancoPopulado {
+
+    static final int USUARIOS = 1_000;
+    static final int CATEGORIAS = 20;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int linhas;
+
+    private ConfigurableApplicationContext contexto;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                // Argumentos de linha de comando, para prevalecer sobre o perfil dev
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "--biblioteca.sql.monitor.habilitado=false",
+                        "--logging.level.root=WARN");
+        popular(contexto.getBean(JdbcTemplate.class));
+        contexto.getBean(EstatisticaService.class).reconciliar();
+        contexto.getBean(CatalogoIndexListener.class).reconstruir();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    private void popular(JdbcTemplate jdbc) {
+        String sinopse = Amostras.TEXTO_LONGO.substring(0, 300);
+        jdbc.update("insert into tb_categoria (id, nome) select x, 'Categoria ' || x from system_range(1, ?)", CATEGORIAS);
+        jdbc.update("insert into tb_usuario (id, nome, email, cpf) "
+                + "select x, 'Usuário ' || x, 'usuario' || x || '@biblioteca.com', lpad(cast(x as varchar), 11, '0') from system_range(1, ?)", USUARIOS);
+        jdbc.update("insert into tb_livro (id, titulo, autor, isbn, data_publicacao, editora, sinopse, numero_paginas, disponivel, categoria_id) "
+                + "select x, 'Livro ' || x, 'Autor ' || mod(x, 5000), 'isbn-' || x, date '2000-01-01', 'Editora', ?, 200, "
+                + "mod(x, 4) >= 2, mod(x, ?) + 1 from system_range(1, ?)", sinopse, CATEGORIAS, linhas);
+        // Status: 1 = ATIVO, 3 = ATRASADO, 2 = DEVOLVIDO
+        jdbc.update("insert into tb_emprestimo (id, usuario_id, livro_id, data_emprestimo, data_prevista_devolucao, data_real_devolucao, status) "
+                + "select x, mod(x, ?) + 1, x, current_date - 30, "
+                + "case mod(x, 4) when 1 then current_date - 10 else current_date + 7 end, "
+                + "case when mod(x, 4) >= 2 then current_date - 20 end, "
+                + "case mod(x, 4) when 0 then 1 when 1 then 3 else 2 end from system_range(1, ?)", USUARIOS, linhas);
+
+        // As sequências continuam depois dos IDs inseridos, com folga para o bloco do otimizador pooled
+        jdbc.execute("alter sequence tb_usuario_seq restart with " + (USUARIOS + 100));
+        jdbc.execute("alter sequence tb_livro_seq restart with " + (linhas + 100));
+        jdbc.execute("alter sequence tb_emprestimo_seq restart with " + (linhas + 100));
+    }
+}
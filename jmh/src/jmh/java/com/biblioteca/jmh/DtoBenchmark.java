@@ -0,0 +1,58 @@
+package com.biblioteca.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.biblioteca.controller.dto.LivroDto;
+import com.biblioteca.controller.dto.ProdutoDto;
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.Produto;
+
+/**
+ * Custo da conversão entre entidades e DTOs feita em cada requisição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoBenchmark {
+
+    private Livro livro;
+    private LivroDto livroDto;
+    private Produto produto;
+    private ProdutoDto produtoDto;
+
+    @Setup
+    public void preparar() {
+        livro = Amostras.livro(1);
+        livroDto = new LivroDto(livro);
+        produto = Amostras.produto(1);
+        produtoDto = new ProdutoDto(produto);
+    }
+
+    @Benchmark
+    public LivroDto livroParaDto() {
+        return new LivroDto(livro);
+    }
+
+    @Benchmark
+    public Livro livroDtoParaModelo() {
+        return livroDto.toModel();
+    }
+
+    @Benchmark
+    public ProdutoDto produtoParaDto() {
+        return new ProdutoDto(produto);
+    }
+
+    @Benchmark
+    public Produto produtoDtoParaModelo() {
+        return produtoDto.toModel();
+    }
+}
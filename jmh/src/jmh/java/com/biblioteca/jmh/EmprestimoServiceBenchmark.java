@@ -0,0 +1,59 @@
+package com.biblioteca.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.biblioteca.domain.model.Emprestimo;
+import com.biblioteca.service.EmprestimoService;
+import com.biblioteca.service.Pagina;
+
+/**
+ * Operações do {@link EmprestimoService} sobre o banco populado: consultas por
+ * usuário e de atrasados, e o ciclo completo de empréstimo e devolução.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmprestimoServiceBenchmark {
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    private EmprestimoService emprestimoService;
+    private int linhas;
+
+    @Setup
+    public void preparar(BancoPopulado banco) {
+        emprestimoService = banco.bean(EmprestimoService.class);
+        linhas = banco.linhas;
+    }
+
+    @Benchmark
+    public Pagina<Emprestimo> buscarPorUsuario() {
+        return emprestimoService.buscarPorUsuario(usuarioAleatorio(), null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<Emprestimo> buscarAtrasados() {
+        return emprestimoService.buscarAtrasados(null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public Emprestimo emprestarEDevolver() {
+        // Livros com id % 4 >= 2 estão disponíveis e voltam a ficar após a devolução
+        long livroId = 4L * ThreadLocalRandom.current().nextInt(linhas / 4) + 2;
+        Emprestimo emprestimo = emprestimoService.realizarEmprestimo(usuarioAleatorio(), livroId, 7);
+        return emprestimoService.realizarDevolucao(emprestimo.getId());
+    }
+
+    private long usuarioAleatorio() {
+        return ThreadLocalRandom.current().nextInt(BancoPopulado.USUARIOS) + 1;
+    }
+}
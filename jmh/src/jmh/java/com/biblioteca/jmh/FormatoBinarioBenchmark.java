@@ -0,0 +1,135 @@
+package com.biblioteca.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import com.biblioteca.controller.dto.LivroDto;
+import com.biblioteca.controller.dto.LivroResumoDto;
+import com.biblioteca.controller.dto.ProdutoDto;
+import com.biblioteca.service.Pagina;
+
+/**
+ * Codificação e decodificação de uma página das listagens em JSON, Smile e
+ * CBOR, os formatos negociados pela API. O tamanho de cada página codificada,
+ * crua e em gzip, é impresso na preparação de cada combinação de parâmetros.
+ *
+ * <p>
+ * Nos DTOs completos a sinopse e a descrição dominam o tamanho e os formatos
+ * binários pouco mudam; a visão resumida, só com campos curtos, mostra o ganho
+ * em nomes de campos e números.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatoBinarioBenchmark {
+
+    public enum Formato {
+        JSON,
+        SMILE,
+        CBOR
+    }
+
+    @Param({ "JSON", "SMILE", "CBOR" })
+    private Formato formato;
+
+    @Param({ "20", "500" })
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private Pagina<LivroDto> livros;
+    private Pagina<LivroResumoDto> livrosResumo;
+    private Pagina<ProdutoDto> produtos;
+    private byte[] livrosCodificados;
+    private byte[] livrosResumoCodificados;
+    private byte[] produtosCodificados;
+    private JavaType tipoLivros;
+    private JavaType tipoLivrosResumo;
+    private JavaType tipoProdutos;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = mapper(formato);
+        livros = new Pagina<>(LongStream.rangeClosed(1, tamanho).mapToObj(id -> new LivroDto(Amostras.livro(id))).toList(), "aWQ6MjA");
+        livrosResumo = livros.map(livro -> new LivroResumoDto(livro.id(), livro.titulo(), livro.autor(), livro.isbn(),
+                livro.disponivel(), livro.categoriaId()));
+        produtos = new Pagina<>(LongStream.rangeClosed(1, tamanho).mapToObj(id -> new ProdutoDto(Amostras.produto(id))).toList(), "aWQ6MjA");
+        livrosCodificados = objectMapper.writeValueAsBytes(livros);
+        livrosResumoCodificados = objectMapper.writeValueAsBytes(livrosResumo);
+        produtosCodificados = objectMapper.writeValueAsBytes(produtos);
+        tipoLivros = objectMapper.getTypeFactory().constructParametricType(Pagina.class, LivroDto.class);
+        tipoLivrosResumo = objectMapper.getTypeFactory().constructParametricType(Pagina.class, LivroResumoDto.class);
+        tipoProdutos = objectMapper.getTypeFactory().constructParametricType(Pagina.class, ProdutoDto.class);
+
+        System.out.printf("%n%s, %d itens: livros %d bytes (gzip %d), resumos %d bytes (gzip %d), produtos %d bytes (gzip %d)%n",
+                formato, tamanho, livrosCodificados.length, gzip(livrosCodificados), livrosResumoCodificados.length,
+                gzip(livrosResumoCodificados), produtosCodificados.length, gzip(produtosCodificados));
+    }
+
+    @Benchmark
+    public byte[] codificarLivros() throws IOException {
+        return objectMapper.writeValueAsBytes(livros);
+    }
+
+    @Benchmark
+    public Pagina<LivroDto> decodificarLivros() throws IOException {
+        return objectMapper.readValue(livrosCodificados, tipoLivros);
+    }
+
+    @Benchmark
+    public byte[] codificarLivrosResumidos() throws IOException {
+        return objectMapper.writeValueAsBytes(livrosResumo);
+    }
+
+    @Benchmark
+    public Pagina<LivroResumoDto> decodificarLivrosResumidos() throws IOException {
+        return objectMapper.readValue(livrosResumoCodificados, tipoLivrosResumo);
+    }
+
+    @Benchmark
+    public byte[] codificarProdutos() throws IOException {
+        return objectMapper.writeValueAsBytes(produtos);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoDto> decodificarProdutos() throws IOException {
+        return objectMapper.readValue(produtosCodificados, tipoProdutos);
+    }
+
+    // Datas como texto ISO, como no ObjectMapper configurado pelo Spring Boot
+    private static ObjectMapper mapper(Formato formato) {
+        var builder = switch (formato) {
+            case JSON -> JsonMapper.builder();
+            case SMILE -> SmileMapper.builder();
+            case CBOR -> CBORMapper.builder();
+        };
+        return builder.findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    private static int gzip(byte[] dados) throws IOException {
+        var saida = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        }
+        return saida.size();
+    }
+}
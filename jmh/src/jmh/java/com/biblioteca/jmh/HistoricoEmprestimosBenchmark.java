@@ -0,0 +1,186 @@
+package com.biblioteca.jmh;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.biblioteca.Application;
+import com.biblioteca.domain.model.RegistroEmprestimo;
+import com.biblioteca.service.Cursor;
+import com.biblioteca.service.EmprestimoService;
+import com.biblioteca.service.Pagina;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Arquivamento e histórico de empréstimos sobre {@code emprestimos} registros
+ * sintéticos, em H2 em memória ou num PostgreSQL embutido ({@code banco}).
+ *
+ * <p>
+ * Metade dos empréstimos já está em {@code tb_emprestimo_arquivo}; dos demais,
+ * quatro em cada cinco foram devolvidos antes do prazo de arquivamento e
+ * aguardam o job, e o restante foi devolvido há poucos dias. O histórico por
+ * usuário e por livro, que mescla as duas tabelas, é lido a partir de uma
+ * posição aleatória. O arquivamento move {@code LOTES_ARQUIVAMENTO} lotes, como
+ * o job faz a cada noite, e os registros movidos voltam para a tabela principal
+ * antes da próxima iteração, fora da medição.
+ * </p>
+ *
+ * <p>
+ * Os valores padrão cabem na memória do H2. Para a escala de produção, use o
+ * PostgreSQL: {@code -Pjmh.banco=postgres -Pjmh.emprestimos=50000000}. Cada
+ * fork carrega o banco do zero, o que nessa escala leva cerca de 17 minutos
+ * num núcleo e ocupa mais de 8 GB no diretório temporário.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class HistoricoEmprestimosBenchmark {
+
+    private static final int USUARIOS = 10_000;
+    private static final int LIVROS = 100_000;
+    private static final int DIAS_ARQUIVAMENTO = 180;
+    private static final int TAMANHO_LOTE = 1000;
+    private static final int LOTES_ARQUIVAMENTO = 100;
+    private static final int TAMANHO_PAGINA = 20;
+
+    @Param({ "h2" })
+    public String banco;
+
+    @Param({ "1000000" })
+    public int emprestimos;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext contexto;
+    private EmprestimoService emprestimoService;
+    private JdbcTemplate jdbc;
+    private LocalDateTime inicio;
+    private boolean arquivou;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        List<String> argumentos = new ArrayList<>(List.of(
+                // Argumentos de linha de comando, para prevalecer sobre os perfis
+                "--biblioteca.sql.monitor.habilitado=false",
+                "--logging.level.root=WARN"));
+        if ("postgres".equals(banco)) {
+            postgres = EmbeddedPostgres.start();
+            argumentos.add("--spring.profiles.active=prd");
+            argumentos.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+            argumentos.add("--spring.datasource.username=postgres");
+            argumentos.add("--spring.datasource.password=postgres");
+        } else {
+            argumentos.add("--spring.datasource.url=jdbc:h2:mem:jmh-historico;DB_CLOSE_DELAY=-1");
+        }
+        contexto = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos.toArray(String[]::new));
+        emprestimoService = contexto.getBean(EmprestimoService.class);
+        jdbc = contexto.getBean(JdbcTemplate.class);
+        popular();
+        inicio = LocalDateTime.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        contexto.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    // Devolve à tabela principal o que a iteração anterior arquivou, para que
+    // cada iteração encontre o mesmo volume pendente
+    @Setup(Level.Iteration)
+    public void restaurar() {
+        if (!arquivou) {
+            return;
+        }
+        Timestamp desde = Timestamp.valueOf(inicio);
+        jdbc.update("insert into tb_emprestimo (id, usuario_id, livro_id, data_emprestimo, data_prevista_devolucao, data_real_devolucao, status) "
+                + "select id, usuario_id, livro_id, data_emprestimo, data_prevista_devolucao, data_real_devolucao, status "
+                + "from tb_emprestimo_arquivo where data_arquivamento >= ?", desde);
+        jdbc.update("delete from tb_emprestimo_arquivo where data_arquivamento >= ?", desde);
+        arquivou = false;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Pagina<RegistroEmprestimo> historicoPorUsuario() {
+        var aleatorio = ThreadLocalRandom.current();
+        return emprestimoService.buscarHistoricoPorUsuario((long) aleatorio.nextInt(USUARIOS) + 1,
+                Cursor.codificar((long) aleatorio.nextInt(emprestimos)), TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Pagina<RegistroEmprestimo> historicoPorLivro() {
+        var aleatorio = ThreadLocalRandom.current();
+        return emprestimoService.buscarHistoricoPorLivro((long) aleatorio.nextInt(LIVROS) + 1,
+                Cursor.codificar((long) aleatorio.nextInt(emprestimos)), TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int arquivar() {
+        arquivou = true;
+        LocalDate limite = LocalDate.now().minusDays(DIAS_ARQUIVAMENTO);
+        int total = 0;
+        for (int i = 0; i < LOTES_ARQUIVAMENTO; i++) {
+            total += emprestimoService.arquivarDevolvidos(limite, TAMANHO_LOTE);
+        }
+        return total;
+    }
+
+    private void popular() {
+        boolean pg = postgres != null;
+        String serie = pg ? "generate_series(1, ?) as s(x)" : "system_range(1, ?)";
+        jdbc.update("insert into tb_usuario (id, nome, email, cpf) "
+                + "select x, 'Usuário ' || x, 'usuario' || x || '@biblioteca.com', lpad(cast(x as varchar), 11, '0') from " + serie, USUARIOS);
+        jdbc.update("insert into tb_livro (id, titulo, autor, isbn, data_publicacao, editora, numero_paginas, disponivel) "
+                + "select x, 'Livro ' || x, 'Autor ' || mod(x, 5000), 'isbn-' || x, date '2000-01-01', 'Editora', 200, true from " + serie, LIVROS);
+
+        // Status 2 = DEVOLVIDO. Já arquivados: x % 10 < 5, devolvidos há 400 dias
+        jdbc.update("insert into tb_emprestimo_arquivo (id, usuario_id, livro_id, data_emprestimo, data_prevista_devolucao, "
+                + "data_real_devolucao, status, data_arquivamento) "
+                + "select x, mod(x, " + USUARIOS + ") + 1, mod(x, " + LIVROS + ") + 1, current_date - 414, current_date - 400, "
+                + "current_date - 400, 2, timestamp '2000-01-01 00:00:00' from " + serie + " where mod(x, 10) < 5", emprestimos);
+        // Na tabela principal: x % 10 de 5 a 8 devolvidos há 200 dias, aguardando o arquivamento; 9, há 20 dias
+        jdbc.update("insert into tb_emprestimo (id, usuario_id, livro_id, data_emprestimo, data_prevista_devolucao, data_real_devolucao, status) "
+                + "select x, mod(x, " + USUARIOS + ") + 1, mod(x, " + LIVROS + ") + 1, "
+                + "case when mod(x, 10) = 9 then current_date - 34 else current_date - 214 end, "
+                + "case when mod(x, 10) = 9 then current_date - 20 else current_date - 200 end, "
+                + "case when mod(x, 10) = 9 then current_date - 20 else current_date - 200 end, "
+                + "2 from " + serie + " where mod(x, 10) >= 5", emprestimos);
+
+        // As sequências continuam depois dos IDs inseridos, com folga para o bloco do otimizador pooled
+        jdbc.execute("alter sequence tb_usuario_seq restart with " + (USUARIOS + 100));
+        jdbc.execute("alter sequence tb_livro_seq restart with " + (LIVROS + 100));
+        jdbc.execute("alter sequence tb_emprestimo_seq restart with " + (emprestimos + 100));
+        if (pg) {
+            jdbc.execute("analyze");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.biblioteca.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.biblioteca.Application;
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.service.ErroImportacao;
+import com.biblioteca.service.ItemImportacao;
+import com.biblioteca.service.LivroService;
+
+/**
+ * Vazão da carga em lote de livros ({@link LivroService#importar}), com os
+ * inserts agrupados em lotes JDBC ({@code batchSize} 50, o padrão da aplicação)
+ * ou enviados um a um ({@code batchSize} 0). O resultado é dado em livros
+ * gravados por segundo.
+ *
+ * <p>
+ * Cada execução sobe a aplicação sobre um H2 em memória próprio, inicialmente
+ * vazio, e importa lotes do mesmo tamanho usado por {@code POST /livros/importacao}.
+ * Num H2 em memória cada comando custa pouco; a diferença entre os dois modos
+ * cresce com a latência de rede de um banco remoto.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImportacaoBenchmark {
+
+    private static final int TAMANHO_LOTE = 1000;
+
+    @Param({ "0", "50" })
+    public int batchSize;
+
+    private ConfigurableApplicationContext contexto;
+    private LivroService livroService;
+    private long sequencia;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh-importacao-" + batchSize + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--biblioteca.sql.monitor.habilitado=false",
+                        "--logging.level.root=WARN");
+        livroService = contexto.getBean(LivroService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public List<ErroImportacao> importar() {
+        List<ItemImportacao<Livro>> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TAMANHO_LOTE; i++) {
+            long n = ++sequencia;
+            Livro livro = new Livro();
+            livro.setTitulo("Livro " + n);
+            livro.setAutor("Autor " + n % 5000);
+            livro.setIsbn("importacao-" + n);
+            livro.setEditora("Editora");
+            livro.setNumeroPaginas(200);
+            lote.add(new ItemImportacao<>(i + 2, livro));
+        }
+        return livroService.importar(lote);
+    }
+}
@@ -0,0 +1,87 @@
+package com.biblioteca.jmh;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.biblioteca.config.limite.GrupoEndpoint;
+import com.biblioteca.config.limite.Limite;
+import com.biblioteca.config.limite.LimitadorRequisicoes;
+
+/**
+ * Custo do limitador de requisições por requisição: a classificação do
+ * endpoint e o consumo de um token, com requisições aceitas e recusadas, um ou
+ * muitos clientes e vários threads disputando o mesmo balde.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LimitadorRequisicoesBenchmark {
+
+    @Param({ "1", "10000" })
+    private int clientes;
+
+    private LimitadorRequisicoes aceita;
+    private LimitadorRequisicoes recusa;
+    private String[] chaves;
+
+    @Setup
+    public void preparar() {
+        // Capacidade e reposição altas o bastante para que nenhum token falte durante a medição
+        var folgado = new Limite(Integer.MAX_VALUE, 1e9);
+        aceita = new LimitadorRequisicoes(todos(folgado), 100_000, Duration.ofMinutes(10));
+        // Um token por hora: depois do primeiro consumo, toda requisição é recusada
+        var esgotado = new Limite(1, 1.0 / 3600);
+        recusa = new LimitadorRequisicoes(todos(esgotado), 100_000, Duration.ofMinutes(10));
+        chaves = IntStream.range(0, clientes).mapToObj(i -> "cliente-" + i).toArray(String[]::new);
+        for (String chave : chaves) {
+            aceita.consumir(chave, GrupoEndpoint.LISTAGEM);
+            recusa.consumir(chave, GrupoEndpoint.LISTAGEM);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Sequencia {
+        private int proximo;
+
+        String chave(String[] chaves) {
+            return chaves[proximo++ % chaves.length];
+        }
+    }
+
+    @Benchmark
+    public long aceitar(Sequencia sequencia) {
+        return aceita.consumir(sequencia.chave(chaves), GrupoEndpoint.de("GET", "/livros/42"));
+    }
+
+    @Benchmark
+    public long recusar(Sequencia sequencia) {
+        return recusa.consumir(sequencia.chave(chaves), GrupoEndpoint.de("GET", "/livros/42"));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long aceitarConcorrente(Sequencia sequencia) {
+        return aceita.consumir(sequencia.chave(chaves), GrupoEndpoint.de("GET", "/livros/42"));
+    }
+
+    private static Map<GrupoEndpoint, Limite> todos(Limite limite) {
+        var limites = new EnumMap<GrupoEndpoint, Limite>(GrupoEndpoint.class);
+        for (GrupoEndpoint grupo : GrupoEndpoint.values()) {
+            limites.put(grupo, limite);
+        }
+        return limites;
+    }
+}
@@ -0,0 +1,67 @@
+package com.biblioteca.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.LivroResumo;
+import com.biblioteca.service.Cursor;
+import com.biblioteca.service.LivroService;
+import com.biblioteca.service.Pagina;
+
+/**
+ * Operações de leitura do {@link LivroService} sobre o banco populado: páginas
+ * por cursor em posição aleatória, leitura por ID e busca textual.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LivroServiceBenchmark {
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    private LivroService livroService;
+    private int linhas;
+
+    @Setup
+    public void preparar(BancoPopulado banco) {
+        livroService = banco.bean(LivroService.class);
+        linhas = banco.linhas;
+    }
+
+    @Benchmark
+    public Pagina<Livro> paginaCompleta() {
+        return livroService.findAll(cursorAleatorio(), TAMANHO_PAGINA, Livro.class);
+    }
+
+    @Benchmark
+    public Pagina<LivroResumo> paginaResumida() {
+        return livroService.findAll(cursorAleatorio(), TAMANHO_PAGINA, LivroResumo.class);
+    }
+
+    @Benchmark
+    public Livro buscarPorId() {
+        return livroService.findById(idAleatorio());
+    }
+
+    @Benchmark
+    public Pagina<Livro> pesquisar() {
+        return livroService.pesquisar("autor " + ThreadLocalRandom.current().nextInt(5000), null, TAMANHO_PAGINA);
+    }
+
+    private String cursorAleatorio() {
+        return Cursor.codificar((long) ThreadLocalRandom.current().nextInt(linhas - TAMANHO_PAGINA));
+    }
+
+    private long idAleatorio() {
+        return ThreadLocalRandom.current().nextInt(linhas) + 1;
+    }
+}
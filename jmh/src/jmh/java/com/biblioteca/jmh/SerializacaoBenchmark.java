@@ -0,0 +1,72 @@
+package com.biblioteca.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import com.biblioteca.controller.dto.LivroDto;
+import com.biblioteca.controller.dto.LivroResumoDto;
+import com.biblioteca.controller.dto.ProdutoDto;
+import com.biblioteca.service.Pagina;
+
+/**
+ * Serialização JSON de uma página das listagens, nas visões completa e
+ * resumida, com o tamanho de página como parâmetro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacaoBenchmark {
+
+    @Param({ "20", "100", "500" })
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private Pagina<LivroDto> livros;
+    private Pagina<LivroResumoDto> livrosResumo;
+    private Pagina<ProdutoDto> produtos;
+
+    @Setup
+    public void preparar() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        livros = pagina(LongStream.rangeClosed(1, tamanho).mapToObj(id -> new LivroDto(Amostras.livro(id))).toList());
+        livrosResumo = pagina(LongStream.rangeClosed(1, tamanho).mapToObj(id -> resumo(new LivroDto(Amostras.livro(id)))).toList());
+        produtos = pagina(LongStream.rangeClosed(1, tamanho).mapToObj(id -> new ProdutoDto(Amostras.produto(id))).toList());
+    }
+
+    @Benchmark
+    public byte[] livrosCompletos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(livros);
+    }
+
+    @Benchmark
+    public byte[] livrosResumidos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(livrosResumo);
+    }
+
+    @Benchmark
+    public byte[] produtosCompletos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(produtos);
+    }
+
+    private static <T> Pagina<T> pagina(List<T> itens) {
+        return new Pagina<>(itens, "aWQ6MjA");
+    }
+
+    private static LivroResumoDto resumo(LivroDto livro) {
+        return new LivroResumoDto(livro.id(), livro.titulo(), livro.autor(), livro.isbn(), livro.disponivel(), livro.categoriaId());
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * API reativa de leitura do catálogo (/rx/livros, /rx/produtos): WebFlux e
+ * R2DBC sobre as mesmas tabelas do PostgreSQL usadas pela aplicação principal,
+ * que continua responsável por todas as escritas.
+ *
+ * Execução: ./gradlew :reativo:bootRun
+ * Banco: POSTGRES_R2DBC_URL, POSTGRES_USER e POSTGRES_PASSWORD
+ */
+
+plugins {
+    java
+    // Versão definida no build.gradle da raiz
+    id("org.springframework.boot")
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(platform(libs.spring.boot.dependencies))
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
+
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(17)
+    }
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
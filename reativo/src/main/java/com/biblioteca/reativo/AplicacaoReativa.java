@@ -0,0 +1,28 @@
+package com.biblioteca.reativo;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Inicializa a API reativa de leitura do catálogo.
+ *
+ * <p>
+ * A configuração fica em {@code reativo.yml}, e não em {@code application.yml},
+ * para não colidir com a da aplicação principal quando as duas estão no mesmo
+ * classpath.
+ * </p>
+ */
+@SpringBootApplication
+public class AplicacaoReativa {
+
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(AplicacaoReativa.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reativo");
+    }
+
+    public static void main(String[] args) {
+        builder().run(args);
+    }
+}
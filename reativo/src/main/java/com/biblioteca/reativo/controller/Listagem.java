@@ -0,0 +1,40 @@
+package com.biblioteca.reativo.controller;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Validação dos parâmetros das listagens reativas, com as mesmas regras e
+ * mensagens da aplicação principal.
+ */
+final class Listagem {
+
+    // Maior que o da API bloqueante: o fluxo é entregue aos poucos, sem montar a lista em memória
+    static final int TAMANHO_MAXIMO = 5_000;
+
+    private Listagem() {
+    }
+
+    static int tamanho(int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO + ".");
+        }
+        return tamanho;
+    }
+
+    /**
+     * Indica se a visão pedida é a resumida ({@code summary}) ou a completa
+     * ({@code full}).
+     */
+    static boolean resumida(String view) {
+        return switch (view.trim().toLowerCase(Locale.ROOT)) {
+            case "summary" -> true;
+            case "full" -> false;
+            default -> throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Visão inválida. Valores aceitos: summary, full.");
+        };
+    }
+}
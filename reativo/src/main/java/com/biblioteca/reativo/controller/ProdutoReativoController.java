@@ -0,0 +1,49 @@
+package com.biblioteca.reativo.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.biblioteca.reativo.domain.Produto;
+import com.biblioteca.reativo.domain.ProdutoRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/rx/produtos")
+public class ProdutoReativoController {
+
+    private final ProdutoRepository produtoRepository;
+
+    public ProdutoReativoController(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    /**
+     * Produtos com ID maior que {@code aposId}, em ordem de ID. Em NDJSON,
+     * cada produto segue numa linha assim que chega do banco, e o ritmo de leitura
+     * do cliente controla a leitura das linhas.
+     */
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<?> listar(
+            @RequestParam(defaultValue = "0") long aposId,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view) {
+        int limite = Listagem.tamanho(tamanho);
+        return Listagem.resumida(view)
+                ? produtoRepository.listarResumo(aposId, limite)
+                : produtoRepository.listar(aposId, limite);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Produto>> buscarPorId(@PathVariable Long id) {
+        return produtoRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.biblioteca.reativo.domain;
+
+import java.time.LocalDate;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Livro somente para leitura, com os mesmos campos do {@code LivroDto} da
+ * aplicação principal.
+ */
+@Table("tb_livro")
+public record Livro(
+    @Id Long id,
+    String titulo,
+    String autor,
+    String isbn,
+    LocalDate dataPublicacao,
+    String editora,
+    String sinopse,
+    Integer numeroPaginas,
+    Boolean disponivel,
+    Long categoriaId
+) {
+}
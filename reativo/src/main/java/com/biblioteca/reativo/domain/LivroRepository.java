@@ -0,0 +1,18 @@
+package com.biblioteca.reativo.domain;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+
+import reactor.core.publisher.Flux;
+
+public interface LivroRepository extends R2dbcRepository<Livro, Long> {
+
+    // Keyset: as linhas chegam do banco conforme a demanda do assinante
+    @Query("select * from tb_livro where id > :aposId order by id limit :tamanho")
+    Flux<Livro> listar(@Param("aposId") long aposId, @Param("tamanho") int tamanho);
+
+    @Query("select id, titulo, autor, isbn, disponivel, categoria_id from tb_livro "
+            + "where id > :aposId order by id limit :tamanho")
+    Flux<LivroResumo> listarResumo(@Param("aposId") long aposId, @Param("tamanho") int tamanho);
+}
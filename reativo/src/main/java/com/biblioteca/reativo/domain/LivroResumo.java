@@ -0,0 +1,15 @@
+package com.biblioteca.reativo.domain;
+
+/**
+ * Campos da listagem resumida de livros, os mesmos do {@code LivroResumoDto}
+ * da aplicação principal.
+ */
+public record LivroResumo(
+    Long id,
+    String titulo,
+    String autor,
+    String isbn,
+    Boolean disponivel,
+    Long categoriaId
+) {
+}
@@ -0,0 +1,25 @@
+package com.biblioteca.reativo.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Produto somente para leitura, com os mesmos campos do {@code ProdutoDto} da
+ * aplicação principal.
+ */
+@Table("tb_produto")
+public record Produto(
+    @Id Long id,
+    String nome,
+    String descricao,
+    BigDecimal preco,
+    Integer quantidadeEstoque,
+    String codigoBarras,
+    LocalDateTime dataCadastro,
+    Boolean ativo,
+    Long categoriaId
+) {
+}
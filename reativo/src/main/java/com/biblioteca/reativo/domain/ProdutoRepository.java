@@ -0,0 +1,18 @@
+package com.biblioteca.reativo.domain;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+
+import reactor.core.publisher.Flux;
+
+public interface ProdutoRepository extends R2dbcRepository<Produto, Long> {
+
+    // Keyset: as linhas chegam do banco conforme a demanda do assinante
+    @Query("select * from tb_produto where id > :aposId order by id limit :tamanho")
+    Flux<Produto> listar(@Param("aposId") long aposId, @Param("tamanho") int tamanho);
+
+    @Query("select id, nome, preco, quantidade_estoque, ativo, categoria_id from tb_produto "
+            + "where id > :aposId order by id limit :tamanho")
+    Flux<ProdutoResumo> listarResumo(@Param("aposId") long aposId, @Param("tamanho") int tamanho);
+}
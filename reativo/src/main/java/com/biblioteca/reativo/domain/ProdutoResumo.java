@@ -0,0 +1,17 @@
+package com.biblioteca.reativo.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Campos da listagem resumida de produtos, os mesmos do
+ * {@code ProdutoResumoDto} da aplicação principal.
+ */
+public record ProdutoResumo(
+    Long id,
+    String nome,
+    BigDecimal preco,
+    Integer quantidadeEstoque,
+    Boolean ativo,
+    Long categoriaId
+) {
+}
@@ -12,3 +12,6 @@ plugins {
 
 rootProject.name = "biblioteca-api"
 include("lib")
+include("jmh")
+include("carga")
+include("reativo")
@@ -0,0 +1,35 @@
+package com.biblioteca.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache de leitura dos livros e produtos consultados por ID.
+ *
+ * <p>
+ * Os caches são limitados por tamanho e tempo de vida conforme
+ * {@code spring.cache.caffeine.spec}. As evicções feitas dentro de uma
+ * transação só são aplicadas após o commit, para que uma leitura concorrente
+ * não volte a guardar o estado anterior à alteração.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String LIVROS = "livros";
+    public static final String PRODUTOS = "produtos";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.caffeine.spec}") String especificacao) {
+        var caffeine = new CaffeineCacheManager(LIVROS, PRODUTOS);
+        caffeine.setCacheSpecification(especificacao);
+        caffeine.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,36 @@
+package com.biblioteca.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Formatos binários negociados pelo cabeçalho {@code Accept} (e pelo
+ * {@code Content-Type} nos corpos recebidos): Smile
+ * ({@code application/x-jackson-smile}) e CBOR ({@code application/cbor}).
+ *
+ * <p>
+ * Os conversores usam o construtor de {@code ObjectMapper} configurado pelo
+ * Spring Boot, de modo que datas e demais opções saem iguais às do JSON. Por
+ * substituírem os conversores padrão do Spring MVC, ficam na mesma posição, depois
+ * do JSON: clientes que aceitam qualquer formato continuam recebendo JSON.
+ * </p>
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
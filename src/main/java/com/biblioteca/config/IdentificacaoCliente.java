@@ -0,0 +1,46 @@
+package com.biblioteca.config;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Identifica o cliente de uma requisição, para o limite de requisições e o
+ * escopo das {@code Idempotency-Key}: pela chave de API no cabeçalho
+ * configurado ({@code X-Api-Key} por padrão), quando é uma das cadastradas em
+ * {@code biblioteca.clientes.chaves}, ou pelo endereço de origem.
+ *
+ * <p>
+ * Atrás de um proxy, o endereço de origem é o do cliente, não o do proxy: com
+ * {@code server.forward-headers-strategy: native}, o Tomcat o substitui pelo
+ * informado no {@code X-Forwarded-For}, mas só quando a conexão vem de um dos
+ * proxies confiáveis ({@code server.tomcat.remoteip.internal-proxies}). De
+ * qualquer outra origem, o cabeçalho é ignorado e não serve para trocar de balde.
+ * </p>
+ *
+ * <p>
+ * Uma chave desconhecida não vale: sorteando uma chave nova a cada requisição,
+ * o cliente ganharia um balde de tokens cheio a cada vez.
+ * </p>
+ */
+@Component
+public class IdentificacaoCliente {
+
+    private final String cabecalho;
+    private final Set<String> chavesConhecidas;
+
+    public IdentificacaoCliente(@Value("${biblioteca.clientes.cabecalho:X-Api-Key}") String cabecalho,
+                                @Value("${biblioteca.clientes.chaves:}") Set<String> chavesConhecidas) {
+        this.cabecalho = cabecalho;
+        this.chavesConhecidas = Set.copyOf(chavesConhecidas);
+    }
+
+    // Prefixos distintos: uma chave com a forma de um endereço não se confunde com ele
+    public String de(HttpServletRequest request) {
+        String chave = request.getHeader(cabecalho);
+        return chave != null && chavesConhecidas.contains(chave) ? "chave:" + chave : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,30 @@
+package com.biblioteca.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import com.biblioteca.domain.repository.EstatisticaCategoriaRepository;
+
+/**
+ * Métricas de negócio que não pertencem a um serviço específico.
+ *
+ * <p>
+ * O total de empréstimos atrasados é lido dos contadores por categoria, mantidos
+ * a cada empréstimo, devolução e varredura de atrasos: uma soma sobre poucas
+ * linhas a cada coleta, em vez de uma contagem na tabela de empréstimos.
+ * </p>
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MeterBinder emprestimosAtrasados(EstatisticaCategoriaRepository estatisticaRepository) {
+        return registry -> Gauge.builder("biblioteca.emprestimos.atrasados", estatisticaRepository,
+                        EstatisticaCategoriaRepository::somarAtrasados)
+                .description("Empréstimos com status ATRASADO")
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.biblioteca.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede cada método público dos serviços de CRUD, inclusive os
+ * {@code buscarPor*}, no timer {@code biblioteca.servico}, com as tags
+ * {@code servico}, {@code metodo} e {@code excecao}. A contagem de chamadas e
+ * de falhas vem do próprio timer.
+ *
+ * <p>
+ * Fica por fora das transações e do cache, para que o tempo medido inclua o
+ * commit e os acertos de cache apareçam como chamadas rápidas.
+ * </p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasServicoAspect {
+
+    public static final String TIMER = "biblioteca.servico";
+
+    private final MeterRegistry registry;
+
+    public MetricasServicoAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.biblioteca.service.CrudService+.*(..))")
+    public Object medir(ProceedingJoinPoint chamada) throws Throwable {
+        Timer.Sample amostra = Timer.start(registry);
+        String excecao = "none";
+        try {
+            return chamada.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder(TIMER)
+                    .description("Tempo de execução dos métodos de serviço")
+                    .tag("servico", chamada.getTarget().getClass().getSimpleName())
+                    .tag("metodo", chamada.getSignature().getName())
+                    .tag("excecao", excecao)
+                    .register(registry));
+        }
+    }
+}
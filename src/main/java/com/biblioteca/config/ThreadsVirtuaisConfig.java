@@ -0,0 +1,97 @@
+package com.biblioteca.config;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Modo opcional em que cada requisição do Tomcat e cada tarefa assíncrona
+ * ({@code @Async}, requisições assíncronas do MVC) roda numa thread virtual,
+ * ativado por {@code biblioteca.threads-virtuais.habilitado}.
+ *
+ * <p>
+ * O código é compilado para Java 17; o executor de threads virtuais é obtido
+ * em tempo de execução e a aplicação não sobe com o modo ligado num JDK
+ * anterior ao 21. A concorrência deixa de ser limitada pelas threads do
+ * Tomcat e passa a ser pelo pool do Hikari: requisições além de
+ * {@code maximum-pool-size} esperam por uma conexão, sem ocupar uma thread de
+ * plataforma.
+ * </p>
+ *
+ * <p>
+ * Com o modo ligado ou não, o executor efetivamente usado pelo Tomcat é
+ * registrado no log quando o servidor sobe.
+ * </p>
+ */
+@Configuration
+public class ThreadsVirtuaisConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadsVirtuaisConfig.class);
+
+    private final ObjectProvider<ExecutorService> executorThreadsVirtuais;
+
+    public ThreadsVirtuaisConfig(@Qualifier("executorThreadsVirtuais") ObjectProvider<ExecutorService> executorThreadsVirtuais) {
+        this.executorThreadsVirtuais = executorThreadsVirtuais;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "biblioteca.threads-virtuais.habilitado", havingValue = "true")
+    public ExecutorService executorThreadsVirtuais() {
+        try {
+            var fabrica = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) fabrica.invoke();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Threads virtuais exigem JDK 21 ou superior; JDK atual: "
+                    + Runtime.version().feature(), e);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", e);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "biblioteca.threads-virtuais.habilitado", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<?> tomcatThreadsVirtuais(ExecutorService executorThreadsVirtuais) {
+        return protocolHandler -> protocolHandler.setExecutor(executorThreadsVirtuais);
+    }
+
+    // Substitui o pool padrão usado por @Async e pelas requisições assíncronas do MVC
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(name = "biblioteca.threads-virtuais.habilitado", havingValue = "true")
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService executorThreadsVirtuais) {
+        return new TaskExecutorAdapter(executorThreadsVirtuais);
+    }
+
+    @EventListener
+    public void registrarExecutor(WebServerInitializedEvent event) {
+        if (!(event.getWebServer() instanceof TomcatWebServer tomcat)) {
+            return;
+        }
+        Executor executor = tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        if (executor != null && executor == executorThreadsVirtuais.getIfAvailable()) {
+            logger.info("Requisições do Tomcat em threads virtuais (JDK {})", Runtime.version().feature());
+        } else if (executor instanceof ThreadPoolExecutor pool) {
+            logger.info("Requisições do Tomcat em threads de plataforma (máximo de {} threads)", pool.getMaximumPoolSize());
+        } else {
+            logger.info("Requisições do Tomcat no executor {}", executor);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.biblioteca.config.idempotencia;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.biblioteca.config.IdentificacaoCliente;
+import com.biblioteca.service.IdempotenciaService;
+
+/**
+ * Aplica o {@code Idempotency-Key} às operações de empréstimo e devolução, as
+ * que os terminais repetem quando a resposta se perde e que não podem ser
+ * executadas duas vezes.
+ */
+@Configuration
+public class IdempotenciaConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(IdempotenciaService idempotenciaService,
+            IdentificacaoCliente identificacaoCliente,
+            @Value("${biblioteca.idempotencia.corpo-maximo:1MB}") DataSize corpoMaximo) {
+        var registro = new FilterRegistrationBean<>(new IdempotenciaFilter(idempotenciaService, identificacaoCliente,
+                Math.toIntExact(corpoMaximo.toBytes())));
+        registro.addUrlPatterns("/emprestimos", "/emprestimos/realizar", "/emprestimos/devolver/*",
+                "/emprestimos/lote", "/emprestimos/devolucoes/lote");
+        return registro;
+    }
+}
@@ -0,0 +1,273 @@
+package com.biblioteca.config.idempotencia;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.biblioteca.config.IdentificacaoCliente;
+import com.biblioteca.service.IdempotenciaService;
+import com.biblioteca.service.ReservaIdempotencia;
+import com.biblioteca.service.RespostaArmazenada;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Executa uma única vez cada requisição com o cabeçalho {@code Idempotency-Key}.
+ * As repetições com a mesma chave e o mesmo corpo recebem a resposta original,
+ * com {@code Idempotent-Replayed: true}; uma repetição que chega enquanto a
+ * original ainda é processada recebe 409 com {@code Retry-After}, e a chave
+ * usada em outra requisição, 422.
+ *
+ * <p>
+ * O corpo é lido inteiro para compor a impressão da requisição, então um corpo
+ * maior que {@code corpoMaximo} bytes é recusado com 413 antes de chegar ao
+ * controller: pelo {@code Content-Length}, quando declarado, ou ao passar do
+ * limite durante a leitura.
+ * </p>
+ *
+ * <p>
+ * As chaves valem por cliente ({@link IdentificacaoCliente}): o mesmo valor
+ * enviado por dois clientes identifica duas operações distintas.
+ * </p>
+ *
+ * <p>
+ * Só respostas abaixo de 500 são guardadas: uma falha do servidor libera a
+ * chave para que o cliente repita a operação. Uma resposta abaixo de 500 nunca
+ * libera a chave, nem quando não é possível guardá-la: a operação já foi
+ * executada, e a reserva fica em andamento até o prazo de processamento.
+ * Conclusão e liberação só valem com o token da reserva, de modo que uma
+ * requisição cuja reserva foi retomada por outra depois do prazo não apaga nem
+ * sobrescreve o que a nova dona fizer. Requisições sem o cabeçalho passam direto.
+ * </p>
+ */
+class IdempotenciaFilter extends OncePerRequestFilter {
+
+    static final String CABECALHO = "Idempotency-Key";
+    static final String REPETIDA = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaFilter.class);
+
+    private static final int TAMANHO_CHAVE = 255;
+
+    private final IdempotenciaService idempotenciaService;
+    private final IdentificacaoCliente identificacaoCliente;
+    private final int corpoMaximo;
+
+    IdempotenciaFilter(IdempotenciaService idempotenciaService, IdentificacaoCliente identificacaoCliente,
+            int corpoMaximo) {
+        this.idempotenciaService = idempotenciaService;
+        this.identificacaoCliente = identificacaoCliente;
+        this.corpoMaximo = corpoMaximo;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(CABECALHO) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cabecalho = request.getHeader(CABECALHO);
+        if (cabecalho.isBlank() || cabecalho.length() > TAMANHO_CHAVE) {
+            recusar(response, HttpStatus.BAD_REQUEST, "Idempotency-Key deve ter entre 1 e " + TAMANHO_CHAVE + " caracteres");
+            return;
+        }
+        // Parâmetros antes do corpo: num formulário, o Tomcat os lê do próprio corpo
+        var parametros = new TreeMap<String, List<String>>();
+        request.getParameterMap().forEach((nome, valores) -> parametros.put(nome, List.of(valores)));
+        byte[] corpo = request.getContentLengthLong() > corpoMaximo ? null : ler(request.getInputStream());
+        if (corpo == null) {
+            recusar(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requisições com Idempotency-Key devem ter no máximo " + corpoMaximo + " bytes");
+            return;
+        }
+        String impressao = impressao(request, parametros, corpo);
+        String chave = escopo(identificacaoCliente.de(request), cabecalho);
+        ReservaIdempotencia reserva = idempotenciaService.reservar(chave, impressao);
+        switch (reserva.situacao()) {
+            case CONCLUIDA -> repetir(reserva.resposta(), response);
+            case EM_ANDAMENTO -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                recusar(response, HttpStatus.CONFLICT, "Requisição com esta Idempotency-Key ainda em processamento");
+            }
+            case DIVERGENTE -> recusar(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key já usada em uma requisição diferente");
+            case NOVA -> executar(chave, reserva.token(), impressao, new CorpoLido(request, corpo), response, chain);
+        }
+    }
+
+    private void executar(String chave, UUID token, String impressao, HttpServletRequest request,
+            HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        var resposta = new ContentCachingResponseWrapper(response);
+        try {
+            boolean executada = false;
+            try {
+                chain.doFilter(request, resposta);
+                executada = resposta.getStatus() < 500;
+            } finally {
+                if (!executada) {
+                    idempotenciaService.liberar(chave, token);
+                }
+            }
+            if (executada) {
+                guardar(chave, token, impressao, resposta);
+            }
+        } finally {
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    // Um byte além do limite basta para saber que o corpo o ultrapassa, também
+    // quando ele chega sem Content-Length
+    private byte[] ler(InputStream entrada) throws IOException {
+        byte[] corpo = entrada.readNBytes(corpoMaximo + 1);
+        return corpo.length > corpoMaximo ? null : corpo;
+    }
+
+    // A operação já foi executada: uma falha ao guardar a resposta não chega ao
+    // cliente, que recebe a resposta real, e não libera a chave
+    private void guardar(String chave, UUID token, String impressao, ContentCachingResponseWrapper resposta) {
+        try {
+            if (!idempotenciaService.concluir(chave, token, new RespostaArmazenada(impressao, resposta.getStatus(),
+                    resposta.getContentType(), resposta.getContentAsByteArray()))) {
+                logger.warn("Reserva de Idempotency-Key retomada por outra requisição antes da conclusão");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Falha ao guardar a resposta de uma requisição com Idempotency-Key", e);
+        }
+    }
+
+    private static void repetir(RespostaArmazenada resposta, HttpServletResponse response) throws IOException {
+        response.setStatus(resposta.status());
+        response.setHeader(REPETIDA, "true");
+        if (resposta.tipoConteudo() != null) {
+            response.setContentType(resposta.tipoConteudo());
+        }
+        if (resposta.corpo() != null) {
+            response.setContentLength(resposta.corpo().length);
+            response.getOutputStream().write(resposta.corpo());
+        }
+    }
+
+    private static void recusar(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8");
+        response.getOutputStream().write(mensagem.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Cliente e chave enviada, num valor de tamanho fixo para a coluna da chave
+    private static String escopo(String cliente, String chave) {
+        var digest = sha256();
+        digest.update((cliente + "\n" + chave).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Método, caminho, parâmetros e corpo: o que identifica a operação repetida
+    private static String impressao(HttpServletRequest request, Map<String, List<String>> parametros, byte[] corpo) {
+        var digest = sha256();
+        digest.update((request.getMethod() + " " + request.getRequestURI() + " " + parametros + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update(corpo);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // O corpo já foi lido para a impressão e é entregue de novo ao controller
+    private static class CorpoLido extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoLido(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int inicio, int tamanho) {
+                    return entrada.read(destino, inicio, tamanho);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // O corpo inteiro já está em memória: disponível e lido de uma vez
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String codificacao = getCharacterEncoding();
+            Charset charset = codificacao != null ? Charset.forName(codificacao) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
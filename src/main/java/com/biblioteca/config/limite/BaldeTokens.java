@@ -0,0 +1,41 @@
+package com.biblioteca.config.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem bloqueio. Em vez do saldo e do instante da última
+ * reposição, guarda um único valor: o instante em que o balde estará cheio de
+ * novo. O saldo em {@code agora} é {@code capacidade - (cheioEm - agora) / intervalo},
+ * e consumir um token adia {@code cheioEm} em um intervalo, de modo que o
+ * consumo é uma leitura e um {@code compareAndSet}, sem locks nem alocação.
+ */
+final class BaldeTokens {
+
+    private final long intervalo;
+    private final long tolerancia;
+    private final AtomicLong cheioEm;
+
+    BaldeTokens(Limite limite, long agora) {
+        this.intervalo = limite.intervalo();
+        this.tolerancia = this.intervalo * limite.capacidade();
+        this.cheioEm = new AtomicLong(agora);
+    }
+
+    /**
+     * Consome um token. Devolve 0 quando havia token disponível ou, quando não
+     * havia, os nanossegundos até que haja um; nesse caso nada é consumido.
+     */
+    long consumir(long agora) {
+        while (true) {
+            long atual = this.cheioEm.get();
+            long proximo = Math.max(atual, agora) + this.intervalo;
+            long espera = proximo - agora - this.tolerancia;
+            if (espera > 0) {
+                return espera;
+            }
+            if (this.cheioEm.compareAndSet(atual, proximo)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.biblioteca.config.limite;
+
+/**
+ * Grupos de endpoints com limites de requisições próprios. As exportações
+ * leem a tabela inteira e têm o limite mais baixo; as buscas por trecho de
+ * texto são as consultas mais caras entre as demais.
+ */
+public enum GrupoEndpoint {
+    EXPORTACAO,
+    BUSCA,
+    LISTAGEM,
+    ESCRITA;
+
+    /**
+     * Classifica a requisição: qualquer método diferente de GET e HEAD é
+     * escrita; entre os GETs, {@code /export} é exportação, a busca textual e
+     * as buscas por título, autor e nome de produto são buscas, e os demais,
+     * listagens e consultas por ID. O caminho deve ser o já normalizado com que
+     * os controllers são escolhidos, não a URI recebida.
+     */
+    public static GrupoEndpoint de(String metodo, String caminho) {
+        if (!metodo.equals("GET") && !metodo.equals("HEAD")) {
+            return ESCRITA;
+        }
+        if (caminho.endsWith("/export")) {
+            return EXPORTACAO;
+        }
+        if (caminho.startsWith("/livros/search") || caminho.startsWith("/livros/titulo/")
+                || caminho.startsWith("/livros/autor/") || caminho.startsWith("/produtos/nome/")) {
+            return BUSCA;
+        }
+        return LISTAGEM;
+    }
+}
@@ -0,0 +1,63 @@
+package com.biblioteca.config.limite;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Baldes de tokens por cliente e grupo de endpoints. Os baldes de um cliente
+ * são descartados depois de um período sem requisições e, acima do máximo de
+ * clientes, os menos usados saem primeiro, o que limita a memória mesmo com
+ * muitos clientes distintos.
+ *
+ * <p>
+ * Um cliente ocioso por mais tempo que a reposição completa do seu maior balde
+ * já teria os baldes cheios, então descartá-los não muda o limite aplicado; a
+ * ociosidade configurada é ampliada até esse tempo quando menor.
+ * </p>
+ */
+public class LimitadorRequisicoes {
+
+    private final Limite[] limites;
+    private final Cache<String, BaldeTokens[]> clientes;
+    private final Function<String, BaldeTokens[]> novosBaldes = cliente -> baldes(System.nanoTime());
+
+    public LimitadorRequisicoes(Map<GrupoEndpoint, Limite> limites, long maximoClientes, Duration ociosidade) {
+        this.limites = new Limite[GrupoEndpoint.values().length];
+        for (GrupoEndpoint grupo : GrupoEndpoint.values()) {
+            this.limites[grupo.ordinal()] = limites.get(grupo);
+            if (this.limites[grupo.ordinal()] == null) {
+                throw new IllegalArgumentException("Limite não configurado para o grupo " + grupo);
+            }
+        }
+        Duration reposicao = Collections.max(limites.values().stream().map(Limite::reposicaoCompleta).toList());
+        this.clientes = Caffeine.newBuilder()
+                .maximumSize(maximoClientes)
+                .expireAfterAccess(ociosidade.compareTo(reposicao) >= 0 ? ociosidade : reposicao)
+                .build();
+    }
+
+    /**
+     * Consome um token do balde do cliente para o grupo. Devolve 0 quando a
+     * requisição pode seguir ou os nanossegundos até que possa.
+     */
+    public long consumir(String cliente, GrupoEndpoint grupo) {
+        BaldeTokens[] baldes = this.clientes.getIfPresent(cliente);
+        if (baldes == null) {
+            baldes = this.clientes.get(cliente, this.novosBaldes);
+        }
+        return baldes[grupo.ordinal()].consumir(System.nanoTime());
+    }
+
+    private BaldeTokens[] baldes(long agora) {
+        var baldes = new BaldeTokens[this.limites.length];
+        for (int i = 0; i < baldes.length; i++) {
+            baldes[i] = new BaldeTokens(this.limites[i], agora);
+        }
+        return baldes;
+    }
+}
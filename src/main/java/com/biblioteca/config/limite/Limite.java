@@ -0,0 +1,27 @@
+package com.biblioteca.config.limite;
+
+import java.time.Duration;
+
+/**
+ * Limite de requisições de um grupo de endpoints para cada cliente: até
+ * {@code capacidade} requisições em rajada, repostas à taxa de
+ * {@code porSegundo} por segundo.
+ */
+public record Limite(int capacidade, double porSegundo) {
+
+    public Limite {
+        if (capacidade < 1 || porSegundo <= 0) {
+            throw new IllegalArgumentException("Limite inválido: capacidade " + capacidade + ", " + porSegundo + "/s");
+        }
+    }
+
+    // Nanossegundos para repor um token
+    long intervalo() {
+        return Math.max(1, Math.round(1_000_000_000 / porSegundo));
+    }
+
+    // Tempo para um balde vazio voltar a ficar cheio
+    Duration reposicaoCompleta() {
+        return Duration.ofNanos(intervalo() * capacidade);
+    }
+}
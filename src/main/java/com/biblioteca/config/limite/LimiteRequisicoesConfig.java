@@ -0,0 +1,43 @@
+package com.biblioteca.config.limite;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.biblioteca.config.IdentificacaoCliente;
+
+/**
+ * Limita as requisições de cada cliente aos endpoints da API com baldes de
+ * tokens por grupo ({@code biblioteca.limite.exportacao}, {@code busca},
+ * {@code listagem} e {@code escrita}), para que uma integração descontrolada não esgote o banco
+ * e as threads dos demais clientes.
+ *
+ * <p>
+ * Ativado por {@code biblioteca.limite.habilitado}; os limites vêm de
+ * {@link LimiteRequisicoesProperties}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "biblioteca.limite.habilitado", havingValue = "true")
+@EnableConfigurationProperties(LimiteRequisicoesProperties.class)
+public class LimiteRequisicoesConfig {
+
+    @Bean
+    public LimitadorRequisicoes limitadorRequisicoes(LimiteRequisicoesProperties propriedades) {
+        return new LimitadorRequisicoes(propriedades.limites(), propriedades.maximoClientes(), propriedades.ociosidade());
+    }
+
+    // Depois da observação HTTP, para que as recusas apareçam nas métricas, e
+    // antes dos demais filtros da aplicação, como o de idempotência
+    @Bean
+    public FilterRegistrationBean<LimiteRequisicoesFilter> limiteRequisicoesFilter(LimitadorRequisicoes limitador,
+            IdentificacaoCliente identificacaoCliente) {
+        var registro = new FilterRegistrationBean<>(new LimiteRequisicoesFilter(limitador, identificacaoCliente));
+        registro.addUrlPatterns("/livros/*", "/produtos/*", "/emprestimos/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
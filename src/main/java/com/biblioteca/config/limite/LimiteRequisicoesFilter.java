@@ -0,0 +1,68 @@
+package com.biblioteca.config.limite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.biblioteca.config.IdentificacaoCliente;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Recusa com 429 e {@code Retry-After} as requisições de um cliente que
+ * esgotou o limite do grupo do endpoint, com o cliente identificado por
+ * {@link IdentificacaoCliente}.
+ */
+class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteRequisicoesFilter.class);
+
+    private static final UrlPathHelper CAMINHOS = new UrlPathHelper();
+
+    private final LimitadorRequisicoes limitador;
+    private final IdentificacaoCliente identificacaoCliente;
+
+    LimiteRequisicoesFilter(LimitadorRequisicoes limitador, IdentificacaoCliente identificacaoCliente) {
+        this.limitador = limitador;
+        this.identificacaoCliente = identificacaoCliente;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cliente = identificacaoCliente.de(request);
+        // Decodificado, sem parâmetros de matriz (";x") nem barras repetidas, como
+        // na escolha do controller: "/livros/%73earch" e "/livros//search" são buscas
+        GrupoEndpoint grupo = GrupoEndpoint.de(request.getMethod(), CAMINHOS.getLookupPathForRequest(request));
+        long espera = limitador.consumir(cliente, grupo);
+        if (espera > 0) {
+            logger.debug("{} {}: limite de {} esgotado para {}", request.getMethod(), request.getRequestURI(), grupo, cliente);
+            // Arredondado para cima: repetir antes do prazo seria recusado de novo
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, segundosAcima(espera))));
+            recusar(response, HttpStatus.TOO_MANY_REQUESTS, "Limite de requisições excedido, tente novamente mais tarde");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static long segundosAcima(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static void recusar(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8");
+        response.getOutputStream().write(mensagem.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package com.biblioteca.config.limite;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração de {@code biblioteca.limite}: o limite de cada grupo de
+ * endpoints e a memória dos baldes. Os valores vêm só do
+ * {@code application.yml}; um grupo sem limite ou um valor ausente impede a
+ * aplicação de subir em vez de cair num padrão escondido no código.
+ */
+@ConfigurationProperties("biblioteca.limite")
+public record LimiteRequisicoesProperties(Limite exportacao, Limite busca, Limite listagem, Limite escrita,
+        long maximoClientes, Duration ociosidade) {
+
+    public LimiteRequisicoesProperties {
+        if (maximoClientes < 1 || ociosidade == null) {
+            throw new IllegalArgumentException("biblioteca.limite.maximo-clientes e biblioteca.limite.ociosidade são obrigatórios");
+        }
+    }
+
+    Map<GrupoEndpoint, Limite> limites() {
+        var limites = new EnumMap<GrupoEndpoint, Limite>(GrupoEndpoint.class);
+        limites.put(GrupoEndpoint.EXPORTACAO, exportacao);
+        limites.put(GrupoEndpoint.BUSCA, busca);
+        limites.put(GrupoEndpoint.LISTAGEM, listagem);
+        limites.put(GrupoEndpoint.ESCRITA, escrita);
+        return limites;
+    }
+}
@@ -0,0 +1,58 @@
+package com.biblioteca.config.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consultas SQL executadas durante a requisição HTTP corrente, agrupadas pelo
+ * texto do comando. Como o Hibernate envia os comandos com parâmetros
+ * ({@code ?}), o texto identifica o formato da consulta independentemente dos
+ * valores.
+ */
+final class ConsultasRequisicao {
+
+    private static final ThreadLocal<ConsultasRequisicao> ATUAL = new ThreadLocal<>();
+
+    private final Map<String, Integer> execucoesPorComando = new HashMap<>();
+    private int total;
+    private long tempoMs;
+
+    private ConsultasRequisicao() {
+    }
+
+    static ConsultasRequisicao iniciar() {
+        var consultas = new ConsultasRequisicao();
+        ATUAL.set(consultas);
+        return consultas;
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Consultas da requisição em andamento na thread, ou {@code null} fora de
+     * uma requisição (jobs agendados, inicialização).
+     */
+    static ConsultasRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    void registrar(String comando, long tempoMs) {
+        execucoesPorComando.merge(comando, 1, Integer::sum);
+        total++;
+        this.tempoMs += tempoMs;
+    }
+
+    Map<String, Integer> execucoesPorComando() {
+        return execucoesPorComando;
+    }
+
+    int total() {
+        return total;
+    }
+
+    long tempoMs() {
+        return tempoMs;
+    }
+}
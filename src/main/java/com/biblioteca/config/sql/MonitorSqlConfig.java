@@ -0,0 +1,51 @@
+package com.biblioteca.config.sql;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Instrumenta o datasource com datasource-proxy para contar as consultas SQL
+ * de cada requisição, registrar as lentas e apontar padrões de N+1.
+ *
+ * <p>
+ * Ativado por {@code biblioteca.sql.monitor.habilitado}. Desligado, o
+ * datasource não é envolvido e não há custo algum por consulta.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "biblioteca.sql.monitor.habilitado", havingValue = "true")
+public class MonitorSqlConfig {
+
+    // Estático: pós-processadores são criados antes dos demais beans da configuração
+    @Bean
+    public static BeanPostProcessor monitorSqlDataSource(
+            @Value("${biblioteca.sql.monitor.consulta-lenta:100ms}") Duration consultaLenta) {
+        var listener = new MonitorSqlListener(consultaLenta);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource).name(nome).listener(listener).build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MonitorSqlFilter monitorSqlFilter(
+            @Value("${biblioteca.sql.monitor.orcamento:20}") int orcamento,
+            @Value("${biblioteca.sql.monitor.repeticoes:5}") int repeticoes) {
+        return new MonitorSqlFilter(orcamento, repeticoes);
+    }
+}
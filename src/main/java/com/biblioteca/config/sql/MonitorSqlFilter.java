@@ -0,0 +1,54 @@
+package com.biblioteca.config.sql;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Acompanha as consultas SQL de cada requisição HTTP. Ao final, registra um
+ * resumo em DEBUG e alerta quando a requisição passa do orçamento de consultas
+ * ou repete o mesmo comando mais vezes que o limite, o padrão típico de N+1.
+ */
+class MonitorSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorSqlFilter.class);
+
+    private final int orcamento;
+    private final int repeticoes;
+
+    MonitorSqlFilter(int orcamento, int repeticoes) {
+        this.orcamento = orcamento;
+        this.repeticoes = repeticoes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var consultas = ConsultasRequisicao.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ConsultasRequisicao.encerrar();
+            relatar(request.getMethod() + " " + request.getRequestURI(), consultas);
+        }
+    }
+
+    private void relatar(String requisicao, ConsultasRequisicao consultas) {
+        logger.debug("{}: {} consultas SQL em {} ms", requisicao, consultas.total(), consultas.tempoMs());
+        if (consultas.total() > orcamento) {
+            logger.warn("{}: {} consultas SQL, acima do orçamento de {}", requisicao, consultas.total(), orcamento);
+        }
+        consultas.execucoesPorComando().forEach((comando, execucoes) -> {
+            if (execucoes > repeticoes) {
+                logger.warn("{}: possível N+1, {} execuções de {}", requisicao, execucoes, comando);
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.biblioteca.config.sql;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Recebe cada execução de comando SQL do datasource instrumentado: soma a
+ * execução às consultas da requisição corrente e registra as que passam do
+ * limite de tempo, junto com o método da aplicação que as originou.
+ */
+class MonitorSqlListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorSqlListener.class);
+
+    private static final StackWalker PILHA = StackWalker.getInstance();
+
+    private final long consultaLentaMs;
+
+    MonitorSqlListener(Duration consultaLenta) {
+        this.consultaLentaMs = consultaLenta.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execucao, List<QueryInfo> comandos) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execucao, List<QueryInfo> comandos) {
+        var consultas = ConsultasRequisicao.atual();
+        if (consultas != null) {
+            // Um lote JDBC conta como uma execução de cada comando distinto
+            for (QueryInfo comando : comandos) {
+                consultas.registrar(comando.getQuery(), execucao.getElapsedTime() / comandos.size());
+            }
+        }
+        if (execucao.getElapsedTime() >= consultaLentaMs) {
+            logger.warn("Consulta lenta ({} ms) em {}: {}", execucao.getElapsedTime(), metodoChamador(),
+                    comandos.size() == 1 ? comandos.get(0).getQuery() : comandos.stream().map(QueryInfo::getQuery).toList());
+        }
+    }
+
+    // Primeiro método da aplicação na pilha, ignorando os proxies gerados pelo Spring
+    private static String metodoChamador() {
+        return PILHA.walk(quadros -> quadros
+                .filter(quadro -> quadro.getClassName().startsWith("com.biblioteca.")
+                        && !quadro.getClassName().startsWith("com.biblioteca.config.")
+                        && !quadro.getClassName().contains("$$"))
+                .findFirst()
+                .map(quadro -> quadro.getClassName().substring(quadro.getClassName().lastIndexOf('.') + 1)
+                        + "." + quadro.getMethodName())
+                .orElse("desconhecido"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.biblioteca.controller;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
@@ -14,71 +15,140 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.biblioteca.controller.dto.EmprestimoDto;
+import com.biblioteca.controller.dto.LoteDevolucaoDto;
+import com.biblioteca.controller.dto.LoteEmprestimoDto;
+import com.biblioteca.controller.dto.ResultadoLoteDto;
 import com.biblioteca.domain.model.Emprestimo;
 import com.biblioteca.service.EmprestimoService;
+import com.biblioteca.service.Pagina;
 
 @RestController
 @RequestMapping("/emprestimos")
 public class EmprestimoController {
     
     private final EmprestimoService emprestimoService;
+    private final ObjectMapper objectMapper;
     
-    public EmprestimoController(EmprestimoService emprestimoService) {
+    public EmprestimoController(EmprestimoService emprestimoService, ObjectMapper objectMapper) {
         this.emprestimoService = emprestimoService;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping
-    public ResponseEntity<List<Emprestimo>> listarTodos() {
-        return ResponseEntity.ok(emprestimoService.findAll());
+    public ResponseEntity<Pagina<EmprestimoDto>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        var emprestimos = emprestimoService.findAll(cursor, tamanho);
+        return ResponseEntity.ok(emprestimos.map(EmprestimoDto::new));
+    }
+    
+    @GetMapping(value = "/export", produces = NdjsonWriter.MEDIA_TYPE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (var writer = new NdjsonWriter(objectMapper, response.getOutputStream())) {
+            emprestimoService.exportar(emprestimo -> writer.escrever(new EmprestimoDto(emprestimo)));
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Emprestimo> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(emprestimoService.findById(id));
+    public ResponseEntity<EmprestimoDto> buscarPorId(@PathVariable Long id) {
+        return ResponseEntity.ok(new EmprestimoDto(emprestimoService.findById(id)));
     }
     
     @GetMapping("/usuario/{usuarioId}")
-    public ResponseEntity<List<Emprestimo>> buscarPorUsuario(@PathVariable Long usuarioId) {
-        return ResponseEntity.ok(emprestimoService.buscarPorUsuario(usuarioId));
+    public ResponseEntity<Pagina<EmprestimoDto>> buscarPorUsuario(
+            @PathVariable Long usuarioId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        var emprestimos = emprestimoService.buscarPorUsuario(usuarioId, cursor, tamanho);
+        return ResponseEntity.ok(emprestimos.map(EmprestimoDto::new));
+    }
+    
+    @GetMapping("/usuario/{usuarioId}/historico")
+    public ResponseEntity<Pagina<EmprestimoDto>> buscarHistoricoPorUsuario(
+            @PathVariable Long usuarioId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        var emprestimos = emprestimoService.buscarHistoricoPorUsuario(usuarioId, cursor, tamanho);
+        return ResponseEntity.ok(emprestimos.map(EmprestimoDto::new));
     }
     
     @GetMapping("/livro/{livroId}")
-    public ResponseEntity<List<Emprestimo>> buscarPorLivro(@PathVariable Long livroId) {
-        return ResponseEntity.ok(emprestimoService.buscarPorLivro(livroId));
+    public ResponseEntity<Pagina<EmprestimoDto>> buscarPorLivro(
+            @PathVariable Long livroId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        var emprestimos = emprestimoService.buscarPorLivro(livroId, cursor, tamanho);
+        return ResponseEntity.ok(emprestimos.map(EmprestimoDto::new));
+    }
+    
+    @GetMapping("/livro/{livroId}/historico")
+    public ResponseEntity<Pagina<EmprestimoDto>> buscarHistoricoPorLivro(
+            @PathVariable Long livroId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        var emprestimos = emprestimoService.buscarHistoricoPorLivro(livroId, cursor, tamanho);
+        return ResponseEntity.ok(emprestimos.map(EmprestimoDto::new));
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Emprestimo>> buscarPorStatus(@PathVariable String status) {
-        return ResponseEntity.ok(emprestimoService.buscarPorStatus(status));
+    public ResponseEntity<Pagina<EmprestimoDto>> buscarPorStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        var emprestimos = emprestimoService.buscarPorStatus(status, cursor, tamanho);
+        return ResponseEntity.ok(emprestimos.map(EmprestimoDto::new));
     }
     
     @GetMapping("/atrasados")
-    public ResponseEntity<List<Emprestimo>> buscarAtrasados() {
-        return ResponseEntity.ok(emprestimoService.buscarAtrasados());
+    public ResponseEntity<Pagina<EmprestimoDto>> buscarAtrasados(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        var emprestimos = emprestimoService.buscarAtrasados(cursor, tamanho);
+        return ResponseEntity.ok(emprestimos.map(EmprestimoDto::new));
     }
     
     @PostMapping
-    public ResponseEntity<Emprestimo> criar(@RequestBody Emprestimo emprestimo) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(emprestimoService.create(emprestimo));
+    public ResponseEntity<EmprestimoDto> criar(@RequestBody Emprestimo emprestimo) {
+        var criado = emprestimoService.create(emprestimo);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new EmprestimoDto(criado));
     }
     
     @PostMapping("/realizar")
-    public ResponseEntity<Emprestimo> realizarEmprestimo(
+    public ResponseEntity<EmprestimoDto> realizarEmprestimo(
             @RequestParam Long usuarioId, 
             @RequestParam Long livroId, 
             @RequestParam(defaultValue = "7") int diasParaDevolucao) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(emprestimoService.realizarEmprestimo(usuarioId, livroId, diasParaDevolucao));
+        var emprestimo = emprestimoService.realizarEmprestimo(usuarioId, livroId, diasParaDevolucao);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new EmprestimoDto(emprestimo));
     }
     
     @PostMapping("/devolver/{id}")
-    public ResponseEntity<Emprestimo> realizarDevolucao(@PathVariable Long id) {
-        return ResponseEntity.ok(emprestimoService.realizarDevolucao(id));
+    public ResponseEntity<EmprestimoDto> realizarDevolucao(@PathVariable Long id) {
+        return ResponseEntity.ok(new EmprestimoDto(emprestimoService.realizarDevolucao(id)));
+    }
+    
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoLoteDto>> realizarEmprestimos(@RequestBody LoteEmprestimoDto lote) {
+        int dias = lote.diasParaDevolucao() != null ? lote.diasParaDevolucao() : 7;
+        var resultados = emprestimoService.realizarEmprestimos(lote.usuarioId(), lote.livroIds(), dias);
+        return ResponseEntity.ok(resultados.stream().map(ResultadoLoteDto::new).toList());
+    }
+    
+    @PostMapping("/devolucoes/lote")
+    public ResponseEntity<List<ResultadoLoteDto>> realizarDevolucoes(@RequestBody LoteDevolucaoDto lote) {
+        var resultados = emprestimoService.realizarDevolucoes(lote.emprestimoIds());
+        return ResponseEntity.ok(resultados.stream().map(ResultadoLoteDto::new).toList());
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Emprestimo> atualizar(@PathVariable Long id, @RequestBody Emprestimo emprestimo) {
-        return ResponseEntity.ok(emprestimoService.update(id, emprestimo));
+    public ResponseEntity<EmprestimoDto> atualizar(@PathVariable Long id, @RequestBody Emprestimo emprestimo) {
+        return ResponseEntity.ok(new EmprestimoDto(emprestimoService.update(id, emprestimo)));
     }
     
     @DeleteMapping("/{id}")
@@ -0,0 +1,208 @@
+package com.biblioteca.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+
+import com.biblioteca.controller.dto.ResultadoImportacaoDto;
+import com.biblioteca.service.ErroImportacao;
+import com.biblioteca.service.ItemImportacao;
+import com.biblioteca.service.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvReadException;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Lê um arquivo de importação (CSV com cabeçalho ou NDJSON) de forma incremental,
+ * um registro por vez, e entrega os registros ao serviço em lotes.
+ *
+ * <p>
+ * Cada lote é gravado em sua própria transação; registros inválidos não
+ * interrompem a importação e são reportados com o número da linha em que
+ * começam. No CSV, um campo entre aspas pode conter quebras de linha, então os
+ * registros são delimitados pelo parser do Jackson, e não pelas linhas do arquivo.
+ * </p>
+ */
+final class ImportacaoReader<D> {
+
+    static final String CSV = "text/csv";
+
+    private static final int TAMANHO_LOTE = 1000;
+    private static final int MAXIMO_ERROS_RELATADOS = 1000;
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final Registros<D> registros;
+    private final List<ErroImportacao> erros = new ArrayList<>();
+    private long linhasLidas;
+    private long importados;
+    private long rejeitados;
+
+    private ImportacaoReader(Registros<D> registros) {
+        this.registros = registros;
+    }
+
+    static <D> ImportacaoReader<D> abrir(Class<D> tipo, String contentType, InputStream corpo,
+            ObjectMapper objectMapper) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV))) {
+            MappingIterator<D> iterador;
+            try {
+                iterador = CSV_MAPPER.readerFor(tipo).with(CsvSchema.emptySchema().withHeader()).readValues(corpo);
+            } catch (CsvReadException e) {
+                throw new BusinessException("O arquivo CSV deve começar com uma linha de cabeçalho.");
+            }
+            return new ImportacaoReader<>(new RegistrosCsv<>(iterador));
+        }
+
+        var entrada = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8), 64 * 1024);
+        var leitor = objectMapper.readerFor(tipo).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return new ImportacaoReader<>(new RegistrosNdjson<>(entrada, leitor));
+    }
+
+    /**
+     * Lê o arquivo até o fim, repassando cada lote ao gravador, que retorna as
+     * linhas recusadas pela validação do serviço.
+     */
+    ResultadoImportacaoDto importar(Function<List<ItemImportacao<D>>, List<ErroImportacao>> gravador)
+            throws IOException {
+        List<ItemImportacao<D>> lote = new ArrayList<>(TAMANHO_LOTE);
+        Registro<D> registro;
+        while ((registro = registros.proximo()) != null) {
+            linhasLidas++;
+            if (registro.erro() != null) {
+                rejeitar(new ErroImportacao(registro.linha(), "Registro inválido: " + registro.erro()));
+            } else {
+                lote.add(new ItemImportacao<>(registro.linha(), registro.valor()));
+            }
+            if (lote.size() == TAMANHO_LOTE) {
+                gravar(lote, gravador);
+                lote = new ArrayList<>(TAMANHO_LOTE);
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravar(lote, gravador);
+        }
+        erros.sort(Comparator.comparingLong(ErroImportacao::linha));
+        return new ResultadoImportacaoDto(linhasLidas, importados, rejeitados, erros);
+    }
+
+    private void gravar(List<ItemImportacao<D>> lote,
+            Function<List<ItemImportacao<D>>, List<ErroImportacao>> gravador) {
+        try {
+            List<ErroImportacao> recusados = gravador.apply(lote);
+            recusados.forEach(this::rejeitar);
+            importados += lote.size() - recusados.size();
+        } catch (DataIntegrityViolationException e) {
+            // Violação concorrente de unicidade: o lote inteiro foi revertido
+            for (ItemImportacao<D> item : lote) {
+                rejeitar(new ErroImportacao(item.linha(), "Lote revertido por conflito de dados ao gravar."));
+            }
+        }
+    }
+
+    private void rejeitar(ErroImportacao erro) {
+        rejeitados++;
+        if (erros.size() < MAXIMO_ERROS_RELATADOS) {
+            erros.add(erro);
+        }
+    }
+
+    // Registro lido com a linha em que começa: o valor ou, se inválido, o motivo
+    private record Registro<D>(long linha, D valor, String erro) {
+    }
+
+    private interface Registros<D> {
+
+        // Próximo registro, ou null no fim do arquivo
+        Registro<D> proximo() throws IOException;
+    }
+
+    // Registros delimitados pelo parser de CSV, que retoma no registro seguinte
+    // depois de um inválido; a linha vem da posição do parser no início de cada um
+    private static final class RegistrosCsv<D> implements Registros<D> {
+
+        private final MappingIterator<D> iterador;
+        private boolean encerrado;
+
+        RegistrosCsv(MappingIterator<D> iterador) {
+            this.iterador = iterador;
+        }
+
+        @Override
+        public Registro<D> proximo() throws IOException {
+            if (encerrado) {
+                return null;
+            }
+            long linha = iterador.getCurrentLocation().getLineNr();
+            try {
+                if (!iterador.hasNextValue()) {
+                    return null;
+                }
+            } catch (JsonProcessingException e) {
+                // O parser não encontrou o início de outro registro: o resto do arquivo é descartado
+                encerrado = true;
+                return new Registro<>(linha, null, e.getOriginalMessage());
+            }
+            linha = iterador.getCurrentLocation().getLineNr();
+            try {
+                return new Registro<>(linha, iterador.nextValue(), null);
+            } catch (JsonProcessingException e) {
+                return new Registro<>(linha, null, e.getOriginalMessage());
+            }
+        }
+    }
+
+    // NDJSON: um registro por linha, lido de forma independente das demais
+    private static final class RegistrosNdjson<D> implements Registros<D> {
+
+        private final BufferedReader entrada;
+        private final ObjectReader leitor;
+        private long linha;
+
+        RegistrosNdjson(BufferedReader entrada, ObjectReader leitor) {
+            this.entrada = entrada;
+            this.leitor = leitor;
+        }
+
+        @Override
+        public Registro<D> proximo() throws IOException {
+            String texto;
+            do {
+                texto = entrada.readLine();
+                if (texto == null) {
+                    return null;
+                }
+                linha++;
+            } while (texto.isBlank());
+            try {
+                return new Registro<>(linha, leitor.readValue(texto), null);
+            } catch (JsonProcessingException e) {
+                return new Registro<>(linha, null, e.getOriginalMessage());
+            }
+        }
+    }
+}
@@ -4,43 +4,89 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.biblioteca.controller.dto.EstatisticaCategoriaDto;
 import com.biblioteca.controller.dto.LivroDto;
+import com.biblioteca.controller.dto.LivroResumoDto;
+import com.biblioteca.controller.dto.ResultadoImportacaoDto;
+import com.biblioteca.domain.model.Identificavel;
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.LivroResumo;
+import com.biblioteca.service.EstatisticaService;
 import com.biblioteca.service.LivroService;
+import com.biblioteca.service.ItemImportacao;
+import com.biblioteca.service.Pagina;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @CrossOrigin
 @RestController
 @RequestMapping("/livros")
 @Tag(name = "Livros Controller", description = "API RESTful para gerenciamento de livros.")
-public record LivroController(LivroService livroService) {
+public record LivroController(LivroService livroService, EstatisticaService estatisticaService, ObjectMapper objectMapper) {
 
     @GetMapping
-    @Operation(summary = "Listar todos os livros", description = "Recupera uma lista de todos os livros cadastrados")
+    @Operation(summary = "Listar todos os livros", description = "Recupera os livros cadastrados em páginas navegáveis pelo cursor retornado")
+    @ApiResponses(value = { 
+            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida"),
+            @ApiResponse(responseCode = "304", description = "Nenhuma alteração desde a versão enviada em If-None-Match")
+    })
+    public ResponseEntity<Pagina<?>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> livroService.findAll(cursor, tamanho, tipo));
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Exportar todos os livros", description = "Transmite todos os livros em JSON delimitado por linha (NDJSON), sem carregar a tabela em memória")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (var writer = new NdjsonWriter(objectMapper, response.getOutputStream())) {
+            livroService.exportar(livro -> writer.escrever(new LivroDto(livro)));
+        }
+    }
+
+    @GetMapping("/estatisticas")
+    @Operation(summary = "Estatísticas por categoria", description = "Recupera, para cada categoria, o total de livros e quantos estão disponíveis, emprestados e atrasados")
     @ApiResponses(value = { 
             @ApiResponse(responseCode = "200", description = "Operação bem-sucedida")
     })
-    public ResponseEntity<List<LivroDto>> findAll() {
-        var livros = livroService.findAll();
-        var livrosDto = livros.stream().map(LivroDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(livrosDto);
+    public ResponseEntity<List<EstatisticaCategoriaDto>> estatisticas() {
+        var estatisticas = estatisticaService.listar();
+        return ResponseEntity.ok(estatisticas.stream().map(EstatisticaCategoriaDto::new).toList());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar livro por ID", description = "Recupera um livro específico com base no seu ID")
     @ApiResponses(value = { 
             @ApiResponse(responseCode = "200", description = "Operação bem-sucedida"),
+            @ApiResponse(responseCode = "304", description = "Livro inalterado desde a versão enviada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Livro não encontrado")
     })
-    public ResponseEntity<LivroDto> findById(@PathVariable Long id) {
+    public ResponseEntity<LivroDto> findById(@PathVariable Long id, WebRequest request) {
+        // O livro vem do cache de leitura, que guarda a versão junto com o corpo:
+        // se o cliente já tem a atual, não há o que serializar
         var livro = livroService.findById(id);
-        return ResponseEntity.ok(new LivroDto(livro));
+        if (RespostaCondicional.atual(request, livro.getVersao())) {
+            return RespostaCondicional.naoModificado(livro.getVersao(), livro.getDataAtualizacao());
+        }
+        return RespostaCondicional.ok(new LivroDto(livro), livro.getVersao(), livro.getDataAtualizacao());
     }
 
     @PostMapping
@@ -59,6 +105,21 @@ public record LivroController(LivroService livroService) {
         return ResponseEntity.created(location).body(new LivroDto(livro));
     }
 
+    @PostMapping(value = "/importacao", consumes = { ImportacaoReader.CSV, NdjsonWriter.MEDIA_TYPE })
+    @Operation(summary = "Importar livros em lote", description = "Importa livros de um arquivo CSV (com cabeçalho) ou NDJSON, um registro por linha, gravando em lotes e retornando as linhas recusadas")
+    @ApiResponses(value = { 
+            @ApiResponse(responseCode = "200", description = "Importação concluída; consulte o relatório de linhas recusadas")
+    })
+    public ResponseEntity<ResultadoImportacaoDto> importar(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream corpo) throws IOException {
+        var reader = ImportacaoReader.abrir(LivroDto.class, contentType, corpo, objectMapper);
+        var resultado = reader.importar(lote -> livroService.importar(lote.stream()
+                .map(item -> new ItemImportacao<>(item.linha(), item.item().toModel()))
+                .toList()));
+        return ResponseEntity.ok(resultado);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar um livro", description = "Atualiza os dados de um livro existente")
     @ApiResponses(value = { 
@@ -82,35 +143,82 @@ public record LivroController(LivroService livroService) {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Pesquisar livros", description = "Busca textual em título, autor, editora e sinopse, com resultados ordenados por relevância")
+    @ApiResponses(value = { 
+            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida"),
+            @ApiResponse(responseCode = "422", description = "Texto da busca ausente ou inválido")
+    })
+    public ResponseEntity<Pagina<LivroDto>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        var livros = livroService.pesquisar(q, cursor, tamanho);
+        return ResponseEntity.ok(livros.map(LivroDto::new));
+    }
+
     @GetMapping("/titulo/{titulo}")
     @Operation(summary = "Buscar livros por título", description = "Recupera livros que contenham o título especificado")
-    public ResponseEntity<List<LivroDto>> findByTitulo(@PathVariable String titulo) {
-        var livros = livroService.buscarPorTitulo(titulo);
-        var livrosDto = livros.stream().map(LivroDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(livrosDto);
+    public ResponseEntity<Pagina<?>> findByTitulo(
+            @PathVariable String titulo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> livroService.buscarPorTitulo(titulo, cursor, tamanho, tipo));
     }
 
     @GetMapping("/autor/{autor}")
     @Operation(summary = "Buscar livros por autor", description = "Recupera livros que contenham o autor especificado")
-    public ResponseEntity<List<LivroDto>> findByAutor(@PathVariable String autor) {
-        var livros = livroService.buscarPorAutor(autor);
-        var livrosDto = livros.stream().map(LivroDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(livrosDto);
+    public ResponseEntity<Pagina<?>> findByAutor(
+            @PathVariable String autor,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> livroService.buscarPorAutor(autor, cursor, tamanho, tipo));
     }
 
     @GetMapping("/categoria/{categoriaId}")
     @Operation(summary = "Buscar livros por categoria", description = "Recupera livros da categoria especificada")
-    public ResponseEntity<List<LivroDto>> findByCategoria(@PathVariable Long categoriaId) {
-        var livros = livroService.buscarPorCategoria(categoriaId);
-        var livrosDto = livros.stream().map(LivroDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(livrosDto);
+    public ResponseEntity<Pagina<?>> findByCategoria(
+            @PathVariable Long categoriaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> livroService.buscarPorCategoria(categoriaId, cursor, tamanho, tipo));
     }
 
     @GetMapping("/disponiveis")
     @Operation(summary = "Buscar livros disponíveis", description = "Recupera todos os livros disponíveis para empréstimo")
-    public ResponseEntity<List<LivroDto>> findDisponiveis() {
-        var livros = livroService.buscarDisponiveis();
-        var livrosDto = livros.stream().map(LivroDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(livrosDto);
+    public ResponseEntity<Pagina<?>> findDisponiveis(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> livroService.buscarDisponiveis(cursor, tamanho, tipo));
+    }
+
+    // Listagem condicional: a ETag é a versão da coleção, lida antes da consulta da página
+    private ResponseEntity<Pagina<?>> listar(WebRequest request, Supplier<Pagina<? extends Identificavel>> consulta) {
+        long versao = livroService.versaoColecao();
+        if (RespostaCondicional.atual(request, versao)) {
+            return RespostaCondicional.naoModificado(versao, null);
+        }
+        return RespostaCondicional.ok(converter(consulta.get()), versao, null);
+    }
+
+    // Tipo lido conforme o parâmetro view: a projeção resumida ou a entidade completa
+    private static Class<? extends Identificavel> tipo(String view) {
+        return Visao.de(view) == Visao.SUMMARY ? LivroResumo.class : Livro.class;
+    }
+
+    private static Pagina<?> converter(Pagina<? extends Identificavel> livros) {
+        return livros.map(registro -> registro instanceof LivroResumo resumo ? new LivroResumoDto(resumo) : new LivroDto((Livro) registro));
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.biblioteca.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Escreve objetos como JSON delimitado por quebra de linha (NDJSON) direto no
+ * stream de saída da resposta, sem acumular a coleção em memória.
+ */
+final class NdjsonWriter implements AutoCloseable {
+
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private final OutputStream saida;
+    private final SequenceWriter sequencia;
+    private boolean primeiro = true;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream saida) throws IOException {
+        this.saida = saida;
+        this.sequencia = objectMapper.writer().withRootValueSeparator("\n").writeValues(saida);
+    }
+
+    void escrever(Object valor) {
+        try {
+            sequencia.write(valor);
+            // Envia a primeira linha imediatamente; as demais seguem o buffer do container
+            if (primeiro) {
+                sequencia.flush();
+                primeiro = false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Não fecha o stream da resposta, que pertence ao container
+        sequencia.flush();
+        if (!primeiro) {
+            saida.write('\n');
+        }
+        saida.flush();
+    }
+}
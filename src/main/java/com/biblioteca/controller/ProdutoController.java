@@ -5,43 +5,76 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import com.biblioteca.controller.dto.ProdutoDto;
+import com.biblioteca.controller.dto.ProdutoResumoDto;
+import com.biblioteca.controller.dto.ResultadoImportacaoDto;
+import com.biblioteca.domain.model.Identificavel;
+import com.biblioteca.domain.model.Produto;
+import com.biblioteca.domain.model.ProdutoResumo;
+import com.biblioteca.service.ItemImportacao;
+import com.biblioteca.service.Pagina;
 import com.biblioteca.service.ProdutoService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @CrossOrigin
 @RestController
 @RequestMapping("/produtos")
 @Tag(name = "Produtos Controller", description = "API RESTful para gerenciamento de produtos.")
-public record ProdutoController(ProdutoService produtoService) {
+public record ProdutoController(ProdutoService produtoService, ObjectMapper objectMapper) {
 
     @GetMapping
-    @Operation(summary = "Listar todos os produtos", description = "Recupera uma lista de todos os produtos cadastrados")
+    @Operation(summary = "Listar todos os produtos", description = "Recupera os produtos cadastrados em páginas navegáveis pelo cursor retornado")
     @ApiResponses(value = { 
-            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida")
+            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida"),
+            @ApiResponse(responseCode = "304", description = "Nenhuma alteração desde a versão enviada em If-None-Match")
     })
-    public ResponseEntity<List<ProdutoDto>> findAll() {
-        var produtos = produtoService.findAll();
-        var produtosDto = produtos.stream().map(ProdutoDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(produtosDto);
+    public ResponseEntity<Pagina<?>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> produtoService.findAll(cursor, tamanho, tipo));
+    }
+
+    @GetMapping(value = "/export", produces = NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Exportar todos os produtos", description = "Transmite todos os produtos em JSON delimitado por linha (NDJSON), sem carregar a tabela em memória")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (var writer = new NdjsonWriter(objectMapper, response.getOutputStream())) {
+            produtoService.exportar(produto -> writer.escrever(new ProdutoDto(produto)));
+        }
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar produto por ID", description = "Recupera um produto específico com base no seu ID")
     @ApiResponses(value = { 
             @ApiResponse(responseCode = "200", description = "Operação bem-sucedida"),
+            @ApiResponse(responseCode = "304", description = "Produto inalterado desde a versão enviada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado")
     })
-    public ResponseEntity<ProdutoDto> findById(@PathVariable Long id) {
+    public ResponseEntity<ProdutoDto> findById(@PathVariable Long id, WebRequest request) {
+        // O produto vem do cache de leitura, que guarda a versão junto com o corpo:
+        // se o cliente já tem a atual, não há o que serializar
         var produto = produtoService.findById(id);
-        return ResponseEntity.ok(new ProdutoDto(produto));
+        if (RespostaCondicional.atual(request, produto.getVersao())) {
+            return RespostaCondicional.naoModificado(produto.getVersao(), produto.getDataAtualizacao());
+        }
+        return RespostaCondicional.ok(new ProdutoDto(produto), produto.getVersao(), produto.getDataAtualizacao());
     }
 
     @PostMapping
@@ -60,6 +93,21 @@ public record ProdutoController(ProdutoService produtoService) {
         return ResponseEntity.created(location).body(new ProdutoDto(produto));
     }
 
+    @PostMapping(value = "/importacao", consumes = { ImportacaoReader.CSV, NdjsonWriter.MEDIA_TYPE })
+    @Operation(summary = "Importar produtos em lote", description = "Importa produtos de um arquivo CSV (com cabeçalho) ou NDJSON, um registro por linha, gravando em lotes e retornando as linhas recusadas")
+    @ApiResponses(value = { 
+            @ApiResponse(responseCode = "200", description = "Importação concluída; consulte o relatório de linhas recusadas")
+    })
+    public ResponseEntity<ResultadoImportacaoDto> importar(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream corpo) throws IOException {
+        var reader = ImportacaoReader.abrir(ProdutoDto.class, contentType, corpo, objectMapper);
+        var resultado = reader.importar(lote -> produtoService.importar(lote.stream()
+                .map(item -> new ItemImportacao<>(item.linha(), item.item().toModel()))
+                .toList()));
+        return ResponseEntity.ok(resultado);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar um produto", description = "Atualiza os dados de um produto existente")
     @ApiResponses(value = { 
@@ -85,57 +133,100 @@ public record ProdutoController(ProdutoService produtoService) {
 
     @GetMapping("/nome/{nome}")
     @Operation(summary = "Buscar produtos por nome", description = "Recupera produtos que contenham o nome especificado")
-    public ResponseEntity<List<ProdutoDto>> findByNome(@PathVariable String nome) {
-        var produtos = produtoService.buscarPorNome(nome);
-        var produtosDto = produtos.stream().map(ProdutoDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(produtosDto);
+    public ResponseEntity<Pagina<?>> findByNome(
+            @PathVariable String nome,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> produtoService.buscarPorNome(nome, cursor, tamanho, tipo));
     }
 
     @GetMapping("/categoria/{categoriaId}")
     @Operation(summary = "Buscar produtos por categoria", description = "Recupera produtos da categoria especificada")
-    public ResponseEntity<List<ProdutoDto>> findByCategoria(@PathVariable Long categoriaId) {
-        var produtos = produtoService.buscarPorCategoria(categoriaId);
-        var produtosDto = produtos.stream().map(ProdutoDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(produtosDto);
+    public ResponseEntity<Pagina<?>> findByCategoria(
+            @PathVariable Long categoriaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> produtoService.buscarPorCategoria(categoriaId, cursor, tamanho, tipo));
     }
 
     @GetMapping("/ativos")
     @Operation(summary = "Buscar produtos ativos", description = "Recupera todos os produtos ativos")
-    public ResponseEntity<List<ProdutoDto>> findAtivos() {
-        var produtos = produtoService.buscarAtivos();
-        var produtosDto = produtos.stream().map(ProdutoDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(produtosDto);
+    public ResponseEntity<Pagina<?>> findAtivos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> produtoService.buscarAtivos(cursor, tamanho, tipo));
     }
 
     @GetMapping("/inativos")
     @Operation(summary = "Buscar produtos inativos", description = "Recupera todos os produtos inativos")
-    public ResponseEntity<List<ProdutoDto>> findInativos() {
-        var produtos = produtoService.buscarInativos();
-        var produtosDto = produtos.stream().map(ProdutoDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(produtosDto);
+    public ResponseEntity<Pagina<?>> findInativos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> produtoService.buscarInativos(cursor, tamanho, tipo));
     }
 
     @GetMapping("/preco-maximo/{precoMaximo}")
     @Operation(summary = "Buscar produtos por preço máximo", description = "Recupera produtos com preço menor ou igual ao especificado")
-    public ResponseEntity<List<ProdutoDto>> findByPrecoMaximo(@PathVariable BigDecimal precoMaximo) {
-        var produtos = produtoService.buscarPorPrecoMaximo(precoMaximo);
-        var produtosDto = produtos.stream().map(ProdutoDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(produtosDto);
+    public ResponseEntity<Pagina<?>> findByPrecoMaximo(
+            @PathVariable BigDecimal precoMaximo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> produtoService.buscarPorPrecoMaximo(precoMaximo, cursor, tamanho, tipo));
     }
 
     @GetMapping("/preco-minimo/{precoMinimo}")
     @Operation(summary = "Buscar produtos por preço mínimo", description = "Recupera produtos com preço maior ou igual ao especificado")
-    public ResponseEntity<List<ProdutoDto>> findByPrecoMinimo(@PathVariable BigDecimal precoMinimo) {
-        var produtos = produtoService.buscarPorPrecoMinimo(precoMinimo);
-        var produtosDto = produtos.stream().map(ProdutoDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(produtosDto);
+    public ResponseEntity<Pagina<?>> findByPrecoMinimo(
+            @PathVariable BigDecimal precoMinimo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> produtoService.buscarPorPrecoMinimo(precoMinimo, cursor, tamanho, tipo));
     }
 
     @GetMapping("/em-estoque")
     @Operation(summary = "Buscar produtos em estoque", description = "Recupera todos os produtos com quantidade em estoque maior que zero")
-    public ResponseEntity<List<ProdutoDto>> findEmEstoque() {
-        var produtos = produtoService.buscarEmEstoque();
-        var produtosDto = produtos.stream().map(ProdutoDto::new).collect(Collectors.toList());
-        return ResponseEntity.ok(produtosDto);
+    public ResponseEntity<Pagina<?>> findEmEstoque(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+        var tipo = tipo(view);
+        return listar(request, () -> produtoService.buscarEmEstoque(cursor, tamanho, tipo));
+    }
+
+    // Listagem condicional: a ETag é a versão da coleção, lida antes da consulta da página
+    private ResponseEntity<Pagina<?>> listar(WebRequest request, Supplier<Pagina<? extends Identificavel>> consulta) {
+        long versao = produtoService.versaoColecao();
+        if (RespostaCondicional.atual(request, versao)) {
+            return RespostaCondicional.naoModificado(versao, null);
+        }
+        return RespostaCondicional.ok(converter(consulta.get()), versao, null);
+    }
+
+    // Tipo lido conforme o parâmetro view: a projeção resumida ou a entidade completa
+    private static Class<? extends Identificavel> tipo(String view) {
+        return Visao.de(view) == Visao.SUMMARY ? ProdutoResumo.class : Produto.class;
+    }
+
+    private static Pagina<?> converter(Pagina<? extends Identificavel> produtos) {
+        return produtos.map(registro -> registro instanceof ProdutoResumo resumo ? new ProdutoResumoDto(resumo) : new ProdutoDto((Produto) registro));
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.biblioteca.controller;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Respostas dos GETs condicionais. A ETag de um registro é a sua versão e a de
+ * uma listagem é a versão da coleção, de modo que o {@code If-None-Match} é
+ * comparado antes de serializar qualquer registro.
+ *
+ * <p>
+ * As respostas saem com {@code Cache-Control: no-cache}: o cliente pode guardar
+ * o corpo, mas revalida a cada uso. A revalidação de um registro lê a versão
+ * do cache de leitura, sem consultar o banco quando o registro está nele, e
+ * responde 304 sem corpo.
+ * </p>
+ *
+ * <p>
+ * As ETags são fracas ({@code W/"3"}): JSON, Smile e CBOR, com ou sem gzip, são
+ * representações equivalentes da mesma versão, e o Tomcat não comprime respostas
+ * com ETag forte. O {@code Vary: Accept} separa os formatos em caches intermediários.
+ * </p>
+ */
+final class RespostaCondicional {
+
+    private RespostaCondicional() {
+    }
+
+    /**
+     * Indica se alguma das ETags enviadas em {@code If-None-Match} corresponde à
+     * versão atual. A comparação é fraca, como pede o cabeçalho: {@code "3"}
+     * equivale a {@code W/"3"}.
+     */
+    static boolean atual(WebRequest request, long versao) {
+        String[] valores = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (valores == null) {
+            return false;
+        }
+        String etag = valor(versao);
+        for (String cabecalho : valores) {
+            for (String candidata : cabecalho.split(",")) {
+                String tag = candidata.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> naoModificado(long versao, LocalDateTime dataAtualizacao) {
+        return cabecalhos(ResponseEntity.status(HttpStatus.NOT_MODIFIED), versao, dataAtualizacao).build();
+    }
+
+    static <T> ResponseEntity<T> ok(T corpo, long versao, LocalDateTime dataAtualizacao) {
+        return cabecalhos(ResponseEntity.ok(), versao, dataAtualizacao).body(corpo);
+    }
+
+    private static ResponseEntity.BodyBuilder cabecalhos(ResponseEntity.BodyBuilder resposta, long versao,
+            LocalDateTime dataAtualizacao) {
+        resposta.eTag("W/" + valor(versao)).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT);
+        if (dataAtualizacao != null) {
+            resposta.lastModified(dataAtualizacao.atZone(ZoneId.systemDefault()));
+        }
+        return resposta;
+    }
+
+    private static String valor(long versao) {
+        return "\"" + versao + "\"";
+    }
+}
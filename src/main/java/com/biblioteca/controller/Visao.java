@@ -0,0 +1,23 @@
+package com.biblioteca.controller;
+
+import java.util.Locale;
+
+import com.biblioteca.service.exception.BusinessException;
+
+/**
+ * Formato das listagens, escolhido pelo parâmetro {@code view}: {@code full}
+ * devolve o registro completo e {@code summary} apenas as colunas exibidas nas
+ * listas, lidas por projeção.
+ */
+public enum Visao {
+    SUMMARY,
+    FULL;
+    
+    public static Visao de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Visão inválida: " + valor + ". Use summary ou full.");
+        }
+    }
+}
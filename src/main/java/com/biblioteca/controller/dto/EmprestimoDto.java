@@ -0,0 +1,28 @@
+package com.biblioteca.controller.dto;
+
+import com.biblioteca.domain.model.RegistroEmprestimo;
+import com.biblioteca.domain.model.StatusEmprestimo;
+
+import java.time.LocalDate;
+
+public record EmprestimoDto(
+    Long id,
+    Long usuarioId,
+    Long livroId,
+    LocalDate dataEmprestimo,
+    LocalDate dataPrevistaDevolucao,
+    LocalDate dataRealDevolucao,
+    StatusEmprestimo status
+) {
+    public EmprestimoDto(RegistroEmprestimo model) {
+        this(
+            model.getId(),
+            model.getUsuarioId(),
+            model.getLivroId(),
+            model.getDataEmprestimo(),
+            model.getDataPrevistaDevolucao(),
+            model.getDataRealDevolucao(),
+            model.getStatus()
+        );
+    }
+}
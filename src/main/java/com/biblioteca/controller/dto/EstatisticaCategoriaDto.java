@@ -0,0 +1,25 @@
+package com.biblioteca.controller.dto;
+
+import com.biblioteca.domain.model.EstatisticaCategoria;
+
+import java.time.LocalDateTime;
+
+public record EstatisticaCategoriaDto(
+    Long categoriaId,
+    long total,
+    long disponiveis,
+    long emprestados,
+    long atrasados,
+    LocalDateTime dataReconciliacao
+) {
+    public EstatisticaCategoriaDto(EstatisticaCategoria model) {
+        this(
+            model.getCategoriaId() == EstatisticaCategoria.SEM_CATEGORIA ? null : model.getCategoriaId(),
+            model.getTotal(),
+            model.getDisponiveis(),
+            model.getEmprestados(),
+            model.getAtrasados(),
+            model.getDataReconciliacao()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.biblioteca.controller.dto;
+
+import com.biblioteca.domain.model.LivroResumo;
+
+public record LivroResumoDto(
+    Long id,
+    String titulo,
+    String autor,
+    String isbn,
+    Boolean disponivel,
+    Long categoriaId
+) {
+    public LivroResumoDto(LivroResumo model) {
+        this(
+            model.getId(),
+            model.getTitulo(),
+            model.getAutor(),
+            model.getIsbn(),
+            model.getDisponivel(),
+            model.getCategoriaId()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.biblioteca.controller.dto;
+
+import java.util.List;
+
+public record LoteDevolucaoDto(
+    List<Long> emprestimoIds
+) {
+}
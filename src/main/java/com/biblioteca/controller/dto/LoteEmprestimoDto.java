@@ -0,0 +1,10 @@
+package com.biblioteca.controller.dto;
+
+import java.util.List;
+
+public record LoteEmprestimoDto(
+    Long usuarioId,
+    List<Long> livroIds,
+    Integer diasParaDevolucao
+) {
+}
@@ -0,0 +1,25 @@
+package com.biblioteca.controller.dto;
+
+import com.biblioteca.domain.model.ProdutoResumo;
+
+import java.math.BigDecimal;
+
+public record ProdutoResumoDto(
+    Long id,
+    String nome,
+    BigDecimal preco,
+    Integer quantidadeEstoque,
+    Boolean ativo,
+    Long categoriaId
+) {
+    public ProdutoResumoDto(ProdutoResumo model) {
+        this(
+            model.getId(),
+            model.getNome(),
+            model.getPreco(),
+            model.getQuantidadeEstoque(),
+            model.getAtivo(),
+            model.getCategoriaId()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.biblioteca.controller.dto;
+
+import java.util.List;
+
+import com.biblioteca.service.ErroImportacao;
+
+public record ResultadoImportacaoDto(
+    long linhasLidas,
+    long importados,
+    long rejeitados,
+    List<ErroImportacao> erros
+) {
+}
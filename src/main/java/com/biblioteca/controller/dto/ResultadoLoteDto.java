@@ -0,0 +1,19 @@
+package com.biblioteca.controller.dto;
+
+import com.biblioteca.service.ResultadoLote;
+
+public record ResultadoLoteDto(
+    Long id,
+    boolean sucesso,
+    EmprestimoDto emprestimo,
+    String mensagem
+) {
+    public ResultadoLoteDto(ResultadoLote model) {
+        this(
+            model.id(),
+            model.isSucesso(),
+            model.emprestimo() != null ? new EmprestimoDto(model.emprestimo()) : null,
+            model.erro()
+        );
+    }
+}
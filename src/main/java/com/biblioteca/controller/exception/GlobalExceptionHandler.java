@@ -0,0 +1,57 @@
+package com.biblioteca.controller.exception;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.biblioteca.service.exception.BusinessException;
+import com.biblioteca.service.exception.ConflictException;
+import com.biblioteca.service.exception.IndisponivelException;
+import com.biblioteca.service.exception.NotFoundException;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    // As mensagens são texto puro, qualquer que seja o formato pedido em Accept (JSON, Smile ou CBOR)
+    private static final MediaType TEXTO = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<String> handleConflictException(ConflictException conflictException) {
+        return resposta(conflictException.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    // A versão do registro mudou entre a leitura e a gravação: outra requisição o alterou
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException exception) {
+        return resposta("O registro foi alterado por outra operação. Tente novamente.", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<String> handleBusinessException(BusinessException businessException) {
+        return resposta(businessException.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<String> handleNotFoundException(NotFoundException notFoundException) {
+        return resposta(notFoundException.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    // Condição passageira (como o índice de busca em construção): o cliente tenta de novo em instantes
+    @ExceptionHandler(IndisponivelException.class)
+    public ResponseEntity<String> handleIndisponivelException(IndisponivelException indisponivelException) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(TEXTO)
+                .body(indisponivelException.getMessage());
+    }
+
+    private static ResponseEntity<String> resposta(String mensagem, HttpStatus status) {
+        return ResponseEntity.status(status).contentType(TEXTO).body(mensagem);
+    }
+}
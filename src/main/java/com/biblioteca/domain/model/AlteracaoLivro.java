@@ -0,0 +1,40 @@
+package com.biblioteca.domain.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+/**
+ * Registro de que um livro foi gravado ou removido, na ordem das gravações.
+ * Os índices de busca das instâncias acompanham esta tabela.
+ */
+@Entity(name = "tb_alteracao_livro")
+public class AlteracaoLivro {
+
+    // Gerado no INSERT (e não em blocos por instância) para seguir a ordem das gravações
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long livroId;
+
+    private LocalDateTime dataAlteracao;
+
+    protected AlteracaoLivro() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getLivroId() {
+        return livroId;
+    }
+
+    public LocalDateTime getDataAlteracao() {
+        return dataAlteracao;
+    }
+}
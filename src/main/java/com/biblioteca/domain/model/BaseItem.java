@@ -8,8 +8,10 @@ import jakarta.persistence.MappedSuperclass;
 @MappedSuperclass
 public abstract class BaseItem {
     
+    // Cada entidade filha declara o gerador item_seq com a sua própria sequência
+    // (<entidade>_seq) e alocação de 50, o incremento criado pela migração V2
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
     private Long id;
     
     private String nome;
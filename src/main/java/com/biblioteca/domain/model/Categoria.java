@@ -1,16 +1,39 @@
 package com.biblioteca.domain.model;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity(name = "tb_categoria")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@SequenceGenerator(name = "item_seq", sequenceName = "tb_categoria_seq", allocationSize = 50)
 public class Categoria extends BaseItem {
     
     @OneToMany(mappedBy = "categoria")
     private List<Livro> livros;
 
+    // Primitiva: as referências montadas só com o ID nos DTOs de livro e
+    // produto continuam sendo tratadas como categorias existentes, não novas
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long versao;
+    
+    @UpdateTimestamp
+    private LocalDateTime dataAtualizacao;
+
     public List<Livro> getLivros() {
         return livros;
     }
@@ -18,4 +41,16 @@ public class Categoria extends BaseItem {
     public void setLivros(List<Livro> livros) {
         this.livros = livros;
     }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.biblioteca.domain.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+
+/**
+ * Número de transações confirmadas que alteraram uma tabela, dividido em
+ * faixas. A soma das faixas serve de versão das listagens: enquanto ela não
+ * muda, nenhuma página da tabela mudou.
+ */
+@Entity(name = "tb_contador_alteracao")
+@IdClass(ContadorAlteracao.Chave.class)
+public class ContadorAlteracao {
+
+    @Id
+    private String tabela;
+
+    @Id
+    private int faixa;
+
+    private long versao;
+
+    protected ContadorAlteracao() {
+    }
+
+    public String getTabela() {
+        return tabela;
+    }
+
+    public int getFaixa() {
+        return faixa;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public static class Chave implements Serializable {
+
+        private String tabela;
+        private int faixa;
+
+        protected Chave() {
+        }
+
+        public Chave(String tabela, int faixa) {
+            this.tabela = tabela;
+            this.faixa = faixa;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave outra && faixa == outra.faixa && Objects.equals(tabela, outra.tabela);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tabela, faixa);
+        }
+    }
+}
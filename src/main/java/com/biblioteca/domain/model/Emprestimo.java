@@ -2,25 +2,37 @@ package com.biblioteca.domain.model;
 
 import java.time.LocalDate;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity(name = "tb_emprestimo")
-public class Emprestimo {
+@Table(indexes = {
+    @Index(name = "idx_emprestimo_status_previsao", columnList = "status, dataPrevistaDevolucao"),
+    @Index(name = "idx_emprestimo_usuario", columnList = "usuario_id, id"),
+    @Index(name = "idx_emprestimo_livro", columnList = "livro_id, id")
+})
+public class Emprestimo implements RegistroEmprestimo {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_emprestimo_seq")
+    @SequenceGenerator(name = "tb_emprestimo_seq", sequenceName = "tb_emprestimo_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
+    // LAZY: as leituras só precisam dos IDs, que o proxy já conhece sem ir ao banco
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     private Usuario usuario;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "livro_id", nullable = false)
     private Livro livro;
     
@@ -30,7 +42,8 @@ public class Emprestimo {
     
     private LocalDate dataRealDevolucao;
     
-    private String status; // ATIVO, DEVOLVIDO, ATRASADO
+    @Column(nullable = false)
+    private StatusEmprestimo status = StatusEmprestimo.ATIVO;
 
     public Long getId() {
         return id;
@@ -48,6 +61,10 @@ public class Emprestimo {
         this.usuario = usuario;
     }
 
+    public Long getUsuarioId() {
+        return usuario != null ? usuario.getId() : null;
+    }
+
     public Livro getLivro() {
         return livro;
     }
@@ -56,6 +73,10 @@ public class Emprestimo {
         this.livro = livro;
     }
 
+    public Long getLivroId() {
+        return livro != null ? livro.getId() : null;
+    }
+
     public LocalDate getDataEmprestimo() {
         return dataEmprestimo;
     }
@@ -80,11 +101,11 @@ public class Emprestimo {
         this.dataRealDevolucao = dataRealDevolucao;
     }
 
-    public String getStatus() {
+    public StatusEmprestimo getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(StatusEmprestimo status) {
         this.status = status;
     }
 }
\ No newline at end of file
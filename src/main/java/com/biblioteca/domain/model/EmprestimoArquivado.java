@@ -0,0 +1,75 @@
+package com.biblioteca.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Empréstimo devolvido há mais tempo que o prazo de arquivamento, movido da
+ * tabela de empréstimos para o histórico. Mantém o ID original e referencia
+ * usuário e livro apenas pelos IDs, sem chaves estrangeiras.
+ */
+@Entity(name = "tb_emprestimo_arquivo")
+@Table(indexes = {
+    @Index(name = "idx_emprestimo_arquivo_usuario", columnList = "usuarioId, id"),
+    @Index(name = "idx_emprestimo_arquivo_livro", columnList = "livroId, id")
+})
+public class EmprestimoArquivado implements RegistroEmprestimo {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false)
+    private Long livroId;
+
+    private LocalDate dataEmprestimo;
+
+    private LocalDate dataPrevistaDevolucao;
+
+    private LocalDate dataRealDevolucao;
+
+    @Column(nullable = false)
+    private StatusEmprestimo status;
+
+    private LocalDateTime dataArquivamento;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public Long getLivroId() {
+        return livroId;
+    }
+
+    public LocalDate getDataEmprestimo() {
+        return dataEmprestimo;
+    }
+
+    public LocalDate getDataPrevistaDevolucao() {
+        return dataPrevistaDevolucao;
+    }
+
+    public LocalDate getDataRealDevolucao() {
+        return dataRealDevolucao;
+    }
+
+    public StatusEmprestimo getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getDataArquivamento() {
+        return dataArquivamento;
+    }
+}
@@ -0,0 +1,81 @@
+package com.biblioteca.domain.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Contadores de livros por categoria, mantidos de forma incremental pelas
+ * operações de cadastro, empréstimo e devolução e recalculados periodicamente
+ * pela reconciliação.
+ *
+ * <p>
+ * Livros sem categoria são contabilizados na linha {@link #SEM_CATEGORIA}.
+ * </p>
+ */
+@Entity(name = "tb_estatistica_categoria")
+public class EstatisticaCategoria {
+
+    public static final long SEM_CATEGORIA = 0L;
+
+    @Id
+    private Long categoriaId;
+
+    private long total;
+
+    private long disponiveis;
+
+    private long emprestados;
+
+    private long atrasados;
+
+    private LocalDateTime dataReconciliacao;
+
+    protected EstatisticaCategoria() {
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getDisponiveis() {
+        return disponiveis;
+    }
+
+    public void setDisponiveis(long disponiveis) {
+        this.disponiveis = disponiveis;
+    }
+
+    public long getEmprestados() {
+        return emprestados;
+    }
+
+    public void setEmprestados(long emprestados) {
+        this.emprestados = emprestados;
+    }
+
+    public long getAtrasados() {
+        return atrasados;
+    }
+
+    public void setAtrasados(long atrasados) {
+        this.atrasados = atrasados;
+    }
+
+    public LocalDateTime getDataReconciliacao() {
+        return dataReconciliacao;
+    }
+
+    public void setDataReconciliacao(LocalDateTime dataReconciliacao) {
+        this.dataReconciliacao = dataReconciliacao;
+    }
+}
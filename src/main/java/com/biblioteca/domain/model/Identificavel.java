@@ -0,0 +1,10 @@
+package com.biblioteca.domain.model;
+
+/**
+ * Registro com identificador numérico, usado como chave do cursor das
+ * listagens paginadas tanto pela entidade quanto por suas projeções.
+ */
+public interface Identificavel {
+    
+    Long getId();
+}
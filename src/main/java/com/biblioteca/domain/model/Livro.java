@@ -1,20 +1,28 @@
 package com.biblioteca.domain.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity(name = "tb_livro")
-public class Livro {
+public class Livro implements Identificavel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_livro_seq")
+    @SequenceGenerator(name = "tb_livro_seq", sequenceName = "tb_livro_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,10 +45,19 @@ public class Livro {
     
     private Boolean disponivel = true;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     private Categoria categoria;
 
+    // Incrementada a cada alteração; é a ETag do registro na API
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+    
+    @UpdateTimestamp
+    private LocalDateTime dataAtualizacao;
+
     public Long getId() {
         return id;
     }
@@ -120,4 +137,16 @@ public class Livro {
     public void setCategoria(Categoria categoria) {
         this.categoria = categoria;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
 }
\ No newline at end of file
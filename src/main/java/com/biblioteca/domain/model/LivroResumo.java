@@ -0,0 +1,19 @@
+package com.biblioteca.domain.model;
+
+/**
+ * Projeção de {@link Livro} com as colunas exibidas nas listagens. A consulta
+ * seleciona só essas colunas e o resultado não entra no contexto de
+ * persistência.
+ */
+public interface LivroResumo extends Identificavel {
+    
+    String getTitulo();
+    
+    String getAutor();
+    
+    String getIsbn();
+    
+    Boolean getDisponivel();
+    
+    Long getCategoriaId();
+}
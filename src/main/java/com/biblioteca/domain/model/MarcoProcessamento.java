@@ -0,0 +1,49 @@
+package com.biblioteca.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Posição até a qual uma tarefa em lote já processou os registros, gravada na
+ * mesma transação de cada lote para que a tarefa retome de onde parou.
+ */
+@Entity(name = "tb_marco_processamento")
+public class MarcoProcessamento {
+
+    @Id
+    private String tarefa;
+
+    private LocalDate ultimaData;
+
+    private Long ultimoId;
+
+    private LocalDateTime dataAtualizacao;
+
+    protected MarcoProcessamento() {
+    }
+
+    public String getTarefa() {
+        return tarefa;
+    }
+
+    public LocalDate getUltimaData() {
+        return ultimaData;
+    }
+
+    public Long getUltimoId() {
+        return ultimoId;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void avancar(LocalDate ultimaData, Long ultimoId) {
+        this.ultimaData = ultimaData;
+        this.ultimoId = ultimoId;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
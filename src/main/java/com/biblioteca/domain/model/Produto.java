@@ -1,20 +1,33 @@
 package com.biblioteca.domain.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity(name = "tb_produto")
-public class Produto {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class Produto implements Identificavel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_produto_seq")
+    @SequenceGenerator(name = "tb_produto_seq", sequenceName = "tb_produto_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -34,10 +47,19 @@ public class Produto {
     
     private Boolean ativo = true;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     private Categoria categoria;
 
+    // Incrementada a cada alteração; é a ETag do registro na API
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+    
+    @UpdateTimestamp
+    private LocalDateTime dataAtualizacao;
+
     public Long getId() {
         return id;
     }
@@ -109,4 +131,16 @@ public class Produto {
     public void setCategoria(Categoria categoria) {
         this.categoria = categoria;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
 }
\ No newline at end of file
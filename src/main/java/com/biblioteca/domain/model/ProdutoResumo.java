@@ -0,0 +1,21 @@
+package com.biblioteca.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção de {@link Produto} com as colunas exibidas nas listagens. A consulta
+ * seleciona só essas colunas e o resultado não entra no contexto de
+ * persistência.
+ */
+public interface ProdutoResumo extends Identificavel {
+    
+    String getNome();
+    
+    BigDecimal getPreco();
+    
+    Integer getQuantidadeEstoque();
+    
+    Boolean getAtivo();
+    
+    Long getCategoriaId();
+}
@@ -0,0 +1,24 @@
+package com.biblioteca.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Visão comum de um empréstimo, esteja ele na tabela de empréstimos ou no
+ * arquivo histórico.
+ */
+public interface RegistroEmprestimo {
+
+    Long getId();
+
+    Long getUsuarioId();
+
+    Long getLivroId();
+
+    LocalDate getDataEmprestimo();
+
+    LocalDate getDataPrevistaDevolucao();
+
+    LocalDate getDataRealDevolucao();
+
+    StatusEmprestimo getStatus();
+}
@@ -0,0 +1,81 @@
+package com.biblioteca.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Requisição identificada por um {@code Idempotency-Key}. A linha é criada
+ * quando a primeira requisição com a chave começa a ser processada e recebe a
+ * resposta ao final, para que as repetições sejam respondidas sem reexecutar a
+ * operação. Enquanto {@code status} é nulo, a requisição está em andamento.
+ *
+ * <p>
+ * A chave gravada combina o cliente e a {@code Idempotency-Key} enviada, de modo
+ * que clientes diferentes não colidem ao usar o mesmo valor.
+ * </p>
+ */
+@Entity(name = "tb_requisicao_idempotente")
+public class RequisicaoIdempotente {
+
+    @Id
+    private String chave;
+
+    // SHA-256 do método, do caminho e do corpo: a chave não pode ser reutilizada em outra requisição
+    @Column(nullable = false, length = 64)
+    private String impressao;
+
+    private Integer status;
+
+    private String tipoConteudo;
+
+    @Column(length = 1_048_576)
+    private byte[] corpo;
+
+    // Trocado a cada reserva ou retomada: só o dono atual conclui ou libera a chave
+    private UUID token;
+
+    @Column(nullable = false)
+    private LocalDateTime criadaEm;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+
+    protected RequisicaoIdempotente() {
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getImpressao() {
+        return impressao;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public byte[] getCorpo() {
+        return corpo;
+    }
+
+    public UUID getToken() {
+        return token;
+    }
+
+    public LocalDateTime getCriadaEm() {
+        return criadaEm;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+}
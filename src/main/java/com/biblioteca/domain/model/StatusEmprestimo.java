@@ -0,0 +1,39 @@
+package com.biblioteca.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Situação de um empréstimo, gravada como um código numérico de um byte
+ * (ver {@link StatusEmprestimoConverter}). Os códigos são fixos: novos status
+ * devem receber códigos novos em vez de reaproveitar os existentes.
+ */
+public enum StatusEmprestimo {
+
+    ATIVO((short) 1),
+    DEVOLVIDO((short) 2),
+    ATRASADO((short) 3);
+
+    private final short codigo;
+
+    StatusEmprestimo(short codigo) {
+        this.codigo = codigo;
+    }
+
+    public short getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Indica se o livro ainda está com o usuário.
+     */
+    public boolean isEmAberto() {
+        return this != DEVOLVIDO;
+    }
+
+    public static StatusEmprestimo doCodigo(short codigo) {
+        return Arrays.stream(values())
+                .filter(status -> status.codigo == codigo)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Código de status desconhecido: " + codigo));
+    }
+}
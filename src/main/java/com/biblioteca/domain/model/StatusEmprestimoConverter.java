@@ -0,0 +1,22 @@
+package com.biblioteca.domain.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava {@link StatusEmprestimo} pelo código numérico, que independe da ordem
+ * e dos nomes das constantes.
+ */
+@Converter(autoApply = true)
+public class StatusEmprestimoConverter implements AttributeConverter<StatusEmprestimo, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(StatusEmprestimo status) {
+        return status != null ? status.getCodigo() : null;
+    }
+
+    @Override
+    public StatusEmprestimo convertToEntityAttribute(Short codigo) {
+        return codigo != null ? StatusEmprestimo.doCodigo(codigo) : null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.biblioteca.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.domain.model.AlteracaoLivro;
+
+@Repository
+public interface AlteracaoLivroRepository extends JpaRepository<AlteracaoLivro, Long> {
+
+    List<AlteracaoLivro> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Query("select coalesce(max(a.id), 0) from tb_alteracao_livro a")
+    long ultimoId();
+
+    @Modifying
+    @Query("delete from tb_alteracao_livro a where a.dataAlteracao < :limite")
+    int removerAnteriores(@Param("limite") LocalDateTime limite);
+}
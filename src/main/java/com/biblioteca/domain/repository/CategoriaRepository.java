@@ -2,6 +2,7 @@ package com.biblioteca.domain.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,6 +11,9 @@ import com.biblioteca.domain.model.Categoria;
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     
-    // Métodos de busca personalizados
-    List<Categoria> findByNomeContainingIgnoreCase(String nome);
-}
\ No newline at end of file
+    // Consultas paginadas por cursor (keyset sobre o ID)
+    List<Categoria> findByIdGreaterThan(Long id, Pageable pageable);
+    
+    // Gera upper(nome) like upper(?), atendida no PostgreSQL pelo índice de trigramas idx_categoria_nome_trgm
+    List<Categoria> findByNomeContainingIgnoreCaseAndIdGreaterThan(String nome, Long id, Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.biblioteca.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.domain.model.ContadorAlteracao;
+
+@Repository
+public interface ContadorAlteracaoRepository extends JpaRepository<ContadorAlteracao, ContadorAlteracao.Chave> {
+    
+    @Query("select coalesce(sum(c.versao), 0) from tb_contador_alteracao c where c.tabela = :tabela")
+    long buscarVersao(@Param("tabela") String tabela);
+    
+    // Incremento atômico: a linha da faixa fica bloqueada até o fim da transação que a alterou
+    @Modifying
+    @Query("update tb_contador_alteracao c set c.versao = c.versao + 1 where c.tabela = :tabela and c.faixa = :faixa")
+    int incrementar(@Param("tabela") String tabela, @Param("faixa") int faixa);
+}
@@ -0,0 +1,31 @@
+package com.biblioteca.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.domain.model.EmprestimoArquivado;
+
+@Repository
+public interface EmprestimoArquivadoRepository extends JpaRepository<EmprestimoArquivado, Long> {
+    
+    // Copia os empréstimos para o arquivo com um único INSERT ... SELECT no banco
+    @Modifying
+    @Query("insert into tb_emprestimo_arquivo (id, usuarioId, livroId, dataEmprestimo, dataPrevistaDevolucao, "
+            + "dataRealDevolucao, status, dataArquivamento) "
+            + "select e.id, e.usuario.id, e.livro.id, e.dataEmprestimo, e.dataPrevistaDevolucao, "
+            + "e.dataRealDevolucao, e.status, :agora from tb_emprestimo e where e.id in :ids")
+    int copiarEmprestimos(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+    
+    // Consultas paginadas por cursor (keyset sobre o ID)
+    List<EmprestimoArquivado> findByUsuarioIdAndIdGreaterThan(Long usuarioId, Long id, Pageable pageable);
+    
+    List<EmprestimoArquivado> findByLivroIdAndIdGreaterThan(Long livroId, Long id, Pageable pageable);
+}
@@ -1,24 +1,88 @@
 package com.biblioteca.domain.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import com.biblioteca.domain.model.Emprestimo;
+import com.biblioteca.domain.model.StatusEmprestimo;
 
 @Repository
 public interface EmprestimoRepository extends JpaRepository<Emprestimo, Long> {
     
-    // Métodos de busca personalizados
-    List<Emprestimo> findByUsuarioId(Long usuarioId);
+    // "Usuario_Id" navega pela associação; sem o "_" o Spring Data resolveria
+    // o getter getUsuarioId(), que não é um atributo mapeado
+    List<Emprestimo> findByUsuario_IdAndStatus(Long usuarioId, StatusEmprestimo status);
+    
+    // Carrega e bloqueia vários empréstimos, com seus livros, em uma única consulta IN
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from tb_emprestimo e join fetch e.livro where e.id in :ids")
+    List<Emprestimo> bloquearPorIds(@Param("ids") Collection<Long> ids);
+    
+    // Próximo lote da varredura de atrasos, em ordem de (previsão, ID) a partir do marco gravado;
+    // percorre o índice (status, previsão) só na faixa ainda não processada
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from tb_emprestimo e join fetch e.livro "
+            + "where e.status = com.biblioteca.domain.model.StatusEmprestimo.ATIVO and e.dataPrevistaDevolucao < :hoje "
+            + "and (e.dataPrevistaDevolucao > :data or (e.dataPrevistaDevolucao = :data and e.id > :id)) "
+            + "order by e.dataPrevistaDevolucao, e.id")
+    List<Emprestimo> bloquearVencidos(@Param("hoje") LocalDate hoje, @Param("data") LocalDate data,
+            @Param("id") Long id, Pageable limite);
+    
+    // Próximo lote do arquivamento: empréstimos devolvidos antes da data limite
+    @Query("select e.id from tb_emprestimo e where e.status = com.biblioteca.domain.model.StatusEmprestimo.DEVOLVIDO "
+            + "and e.dataRealDevolucao < :data order by e.id")
+    List<Long> findIdsDevolvidosAntesDe(@Param("data") LocalDate data, Pageable limite);
+    
+    @Modifying
+    @Query("delete from tb_emprestimo e where e.id in :ids")
+    int excluirPorIds(@Param("ids") Collection<Long> ids);
+    
+    // Empréstimos em aberto por categoria do livro, usados pela reconciliação das estatísticas
+    @Query("select l.categoria.id as categoriaId, count(e) as emprestados, "
+            + "sum(case when e.status = com.biblioteca.domain.model.StatusEmprestimo.ATRASADO then 1 else 0 end) as atrasados "
+            + "from tb_emprestimo e join e.livro l "
+            + "where e.status <> com.biblioteca.domain.model.StatusEmprestimo.DEVOLVIDO group by l.categoria.id")
+    List<ContagemPorCategoria> contarEmAbertoPorCategoria();
+    
+    interface ContagemPorCategoria {
+        Long getCategoriaId();
+        
+        Long getEmprestados();
+        
+        Long getAtrasados();
+    }
+    
+    // Consultas paginadas por cursor (keyset sobre o ID)
+    List<Emprestimo> findByIdGreaterThan(Long id, Pageable pageable);
+    
+    List<Emprestimo> findByUsuario_IdAndIdGreaterThan(Long usuarioId, Long id, Pageable pageable);
     
-    List<Emprestimo> findByLivroId(Long livroId);
+    List<Emprestimo> findByLivro_IdAndIdGreaterThan(Long livroId, Long id, Pageable pageable);
     
-    List<Emprestimo> findByStatus(String status);
+    List<Emprestimo> findByStatusAndIdGreaterThan(StatusEmprestimo status, Long id, Pageable pageable);
     
-    List<Emprestimo> findByDataPrevistaDevolucaoBefore(LocalDate data);
+    List<Emprestimo> findByStatusInAndDataPrevistaDevolucaoBeforeAndIdGreaterThan(Collection<StatusEmprestimo> status, LocalDate data, Long id, Pageable pageable);
     
-    List<Emprestimo> findByUsuarioIdAndStatus(Long usuarioId, String status);
+    // Leitura sequencial com cursor do servidor (fetch size) para exportação
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from tb_emprestimo e")
+    Stream<Emprestimo> streamAll();
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.biblioteca.domain.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+import com.biblioteca.domain.model.EstatisticaCategoria;
+
+@Repository
+public interface EstatisticaCategoriaRepository extends JpaRepository<EstatisticaCategoria, Long> {
+    
+    List<EstatisticaCategoria> findAllByOrderByCategoriaId();
+    
+    @Query("select coalesce(sum(e.atrasados), 0) from tb_estatistica_categoria e")
+    long somarAtrasados();
+    
+    // Incremento atômico: a linha fica bloqueada até o fim da transação que a alterou
+    @Modifying
+    @Query("update tb_estatistica_categoria e set e.total = e.total + :total, e.disponiveis = e.disponiveis + :disponiveis, "
+            + "e.emprestados = e.emprestados + :emprestados, e.atrasados = e.atrasados + :atrasados where e.categoriaId = :categoriaId")
+    int ajustar(@Param("categoriaId") Long categoriaId, @Param("total") long total, @Param("disponiveis") long disponiveis,
+            @Param("emprestados") long emprestados, @Param("atrasados") long atrasados);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from tb_estatistica_categoria e where e.categoriaId = :categoriaId")
+    Optional<EstatisticaCategoria> bloquear(@Param("categoriaId") Long categoriaId);
+    
+    // Usado pela reconciliação para impedir ajustes concorrentes durante a recontagem
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from tb_estatistica_categoria e order by e.categoriaId")
+    List<EstatisticaCategoria> bloquearTodas();
+}
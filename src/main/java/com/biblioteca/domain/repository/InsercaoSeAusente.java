@@ -0,0 +1,78 @@
+package com.biblioteca.domain.repository;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Cria linhas de contadores (estatísticas por categoria, versões de tabela) e
+ * de marcos de tarefas em lote na primeira vez que são usadas, na transação e
+ * na conexão de quem chama.
+ *
+ * <p>
+ * Uma inserção comum falharia por chave duplicada quando duas transações criam
+ * a mesma linha ao mesmo tempo, e no PostgreSQL o erro invalida a transação
+ * inteira. Por isso o PostgreSQL usa {@code insert ... on conflict do nothing},
+ * que espera a outra transação e não insere nada; nos demais bancos (H2 em
+ * desenvolvimento), um {@code merge}, cuja eventual violação de chave desfaz
+ * apenas o próprio comando.
+ * </p>
+ */
+@Repository
+public class InsercaoSeAusente {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public InsercaoSeAusente(DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.postgres = "PostgreSQL".equals(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+    }
+
+    /**
+     * Insere a linha com os valores dados, a menos que já exista uma com o mesmo
+     * valor na coluna {@code chave}. Devolve se a linha foi inserida.
+     */
+    public boolean inserir(String tabela, String chave, Map<String, Object> valores) {
+        return inserir(tabela, List.of(chave), valores);
+    }
+
+    /**
+     * Como {@link #inserir(String, String, Map)}, para uma chave composta pelas
+     * colunas dadas.
+     */
+    public boolean inserir(String tabela, List<String> chave, Map<String, Object> valores) {
+        List<String> colunas = new ArrayList<>(valores.keySet());
+        String lista = String.join(", ", colunas);
+        String parametros = String.join(", ", Collections.nCopies(colunas.size(), "?"));
+        String sql;
+        if (postgres) {
+            sql = "insert into " + tabela + " (" + lista + ") values (" + parametros + ") on conflict ("
+                    + String.join(", ", chave) + ") do nothing";
+        } else {
+            sql = "merge into " + tabela + " using (values (" + parametros + ")) as s (" + lista + ") on "
+                    + chave.stream().map(coluna -> tabela + "." + coluna + " = s." + coluna).collect(Collectors.joining(" and "))
+                    + " when not matched then insert (" + lista + ") values ("
+                    + colunas.stream().map(coluna -> "s." + coluna).collect(Collectors.joining(", ")) + ")";
+        }
+        List<Object> argumentos = colunas.stream().map(valores::get).toList();
+        try {
+            return jdbcTemplate.update(sql, argumentos.toArray()) == 1;
+        } catch (DuplicateKeyException e) {
+            // Outra transação inseriu a mesma linha entre a verificação e a inserção do merge
+            return false;
+        }
+    }
+}
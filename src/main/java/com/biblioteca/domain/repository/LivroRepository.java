@@ -1,10 +1,24 @@
 package com.biblioteca.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import com.biblioteca.domain.model.Livro;
 
 @Repository
@@ -12,12 +26,53 @@ public interface LivroRepository extends JpaRepository<Livro, Long> {
     
     boolean existsByIsbn(String isbn);
     
-    // Métodos de busca personalizados
-    List<Livro> findByTituloContainingIgnoreCase(String titulo);
+    // Verificação de unicidade em conjunto, usada na importação em lote
+    @Query("select l.isbn from tb_livro l where l.isbn in :isbns")
+    Set<String> findIsbnsExistentes(@Param("isbns") Collection<String> isbns);
+    
+    // Reserva condicional: só altera a linha se o livro ainda estiver disponível.
+    // O UPDATE em massa não passa pelo versionamento do Hibernate, então incrementa a versão por conta própria
+    @Modifying
+    @Query("update tb_livro l set l.disponivel = false, l.versao = l.versao + 1, l.dataAtualizacao = :agora "
+            + "where l.id = :id and l.disponivel = true")
+    int reservar(@Param("id") Long id, @Param("agora") LocalDateTime agora);
+    
+    // Carrega e bloqueia vários livros em uma única consulta IN (operações em lote)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from tb_livro l where l.id in :ids")
+    List<Livro> bloquearPorIds(@Param("ids") Collection<Long> ids);
+    
+    // Contagem agregada usada pela reconciliação das estatísticas por categoria
+    @Query("select l.categoria.id as categoriaId, count(l) as total, "
+            + "sum(case when l.disponivel = true then 1 else 0 end) as disponiveis "
+            + "from tb_livro l group by l.categoria.id")
+    List<ContagemPorCategoria> contarPorCategoria();
+    
+    interface ContagemPorCategoria {
+        Long getCategoriaId();
+        
+        Long getTotal();
+        
+        Long getDisponiveis();
+    }
+    
+    // Consultas paginadas por cursor (keyset sobre o ID). O tipo pedido é a
+    // própria entidade ou uma projeção, como LivroResumo, que seleciona só suas colunas
+    <T> List<T> findByIdGreaterThan(Long id, Pageable pageable, Class<T> tipo);
+    
+    <T> List<T> findByTituloContainingIgnoreCaseAndIdGreaterThan(String titulo, Long id, Pageable pageable, Class<T> tipo);
+    
+    <T> List<T> findByAutorContainingIgnoreCaseAndIdGreaterThan(String autor, Long id, Pageable pageable, Class<T> tipo);
     
-    List<Livro> findByAutorContainingIgnoreCase(String autor);
+    <T> List<T> findByCategoriaIdAndIdGreaterThan(Long categoriaId, Long id, Pageable pageable, Class<T> tipo);
     
-    List<Livro> findByCategoriaId(Long categoriaId);
+    <T> List<T> findByDisponivelAndIdGreaterThan(Boolean disponivel, Long id, Pageable pageable, Class<T> tipo);
     
-    List<Livro> findByDisponivel(Boolean disponivel);
+    // Leitura sequencial com cursor do servidor (fetch size) para exportação
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select l from tb_livro l")
+    Stream<Livro> streamAll();
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.biblioteca.domain.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+import com.biblioteca.domain.model.MarcoProcessamento;
+
+@Repository
+public interface MarcoProcessamentoRepository extends JpaRepository<MarcoProcessamento, String> {
+    
+    // O bloqueio impede que duas instâncias da aplicação processem a mesma tarefa ao mesmo tempo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from tb_marco_processamento m where m.tarefa = :tarefa")
+    Optional<MarcoProcessamento> bloquear(@Param("tarefa") String tarefa);
+}
@@ -1,11 +1,21 @@
 package com.biblioteca.domain.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import com.biblioteca.domain.model.Produto;
 
 @Repository
@@ -13,16 +23,32 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     
     boolean existsByCodigoBarras(String codigoBarras);
     
-    // Métodos de busca personalizados
-    List<Produto> findByNomeContainingIgnoreCase(String nome);
+    // Verificação de unicidade em conjunto, usada na importação em lote
+    @Query("select p.codigoBarras from tb_produto p where p.codigoBarras in :codigos")
+    Set<String> findCodigosBarrasExistentes(@Param("codigos") Collection<String> codigos);
+    
+    // Consultas paginadas por cursor (keyset sobre o ID). O tipo pedido é a
+    // própria entidade ou uma projeção, como ProdutoResumo, que seleciona só suas colunas
+    <T> List<T> findByIdGreaterThan(Long id, Pageable pageable, Class<T> tipo);
+    
+    // Gera upper(nome) like upper(?), atendida no PostgreSQL pelo índice de trigramas idx_produto_nome_trgm
+    <T> List<T> findByNomeContainingIgnoreCaseAndIdGreaterThan(String nome, Long id, Pageable pageable, Class<T> tipo);
+    
+    <T> List<T> findByCategoriaIdAndIdGreaterThan(Long categoriaId, Long id, Pageable pageable, Class<T> tipo);
     
-    List<Produto> findByCategoriaId(Long categoriaId);
+    <T> List<T> findByAtivoAndIdGreaterThan(Boolean ativo, Long id, Pageable pageable, Class<T> tipo);
     
-    List<Produto> findByAtivo(Boolean ativo);
+    <T> List<T> findByPrecoLessThanEqualAndIdGreaterThan(BigDecimal precoMaximo, Long id, Pageable pageable, Class<T> tipo);
     
-    List<Produto> findByPrecoLessThanEqual(BigDecimal precoMaximo);
+    <T> List<T> findByPrecoGreaterThanEqualAndIdGreaterThan(BigDecimal precoMinimo, Long id, Pageable pageable, Class<T> tipo);
     
-    List<Produto> findByPrecoGreaterThanEqual(BigDecimal precoMinimo);
+    <T> List<T> findByQuantidadeEstoqueGreaterThanAndIdGreaterThan(Integer quantidade, Long id, Pageable pageable, Class<T> tipo);
     
-    List<Produto> findByQuantidadeEstoqueGreaterThan(Integer quantidade);
+    // Leitura sequencial com cursor do servidor (fetch size) para exportação
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from tb_produto p")
+    Stream<Produto> streamAll();
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.biblioteca.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.domain.model.RequisicaoIdempotente;
+
+@Repository
+public interface RequisicaoIdempotenteRepository extends JpaRepository<RequisicaoIdempotente, String> {
+    
+    // INSERT direto, sem o merge do save: entre requisições simultâneas com a
+    // mesma chave, só uma grava a linha e as demais recebem violação de chave primária
+    @Modifying
+    @Query("insert into tb_requisicao_idempotente (chave, impressao, token, criadaEm, expiraEm) "
+            + "values (:chave, :impressao, :token, :agora, :expiraEm)")
+    int reservar(@Param("chave") String chave, @Param("impressao") String impressao, @Param("token") UUID token,
+            @Param("agora") LocalDateTime agora, @Param("expiraEm") LocalDateTime expiraEm);
+    
+    // Assume uma reserva abandonada (a instância que a fez caiu antes de concluir)
+    // com um token novo: se a dona anterior ainda estiver viva, não conclui nem libera mais
+    @Modifying
+    @Query("update tb_requisicao_idempotente r set r.criadaEm = :agora, r.token = :token "
+            + "where r.chave = :chave and r.status is null and r.criadaEm < :limite")
+    int retomar(@Param("chave") String chave, @Param("token") UUID token,
+            @Param("agora") LocalDateTime agora, @Param("limite") LocalDateTime limite);
+    
+    @Modifying
+    @Query("update tb_requisicao_idempotente r set r.status = :status, r.tipoConteudo = :tipoConteudo, r.corpo = :corpo "
+            + "where r.chave = :chave and r.token = :token and r.status is null")
+    int concluir(@Param("chave") String chave, @Param("token") UUID token, @Param("status") int status,
+            @Param("tipoConteudo") String tipoConteudo, @Param("corpo") byte[] corpo);
+    
+    @Modifying
+    @Query("delete from tb_requisicao_idempotente r where r.chave = :chave and r.token = :token and r.status is null")
+    int liberar(@Param("chave") String chave, @Param("token") UUID token);
+    
+    @Modifying
+    @Query("delete from tb_requisicao_idempotente r where r.chave = :chave and r.expiraEm <= :agora")
+    int removerExpirada(@Param("chave") String chave, @Param("agora") LocalDateTime agora);
+    
+    @Modifying
+    @Query("delete from tb_requisicao_idempotente r where r.expiraEm <= :agora")
+    int removerExpiradas(@Param("agora") LocalDateTime agora);
+}
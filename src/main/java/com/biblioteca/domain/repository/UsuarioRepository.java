@@ -2,6 +2,7 @@ package com.biblioteca.domain.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -19,5 +20,9 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     
     Usuario findByCpf(String cpf);
     
-    List<Usuario> findByNomeContainingIgnoreCase(String nome);
-}
\ No newline at end of file
+    // Consultas paginadas por cursor (keyset sobre o ID)
+    List<Usuario> findByIdGreaterThan(Long id, Pageable pageable);
+    
+    // Gera upper(nome) like upper(?), atendida no PostgreSQL pelo índice de trigramas idx_usuario_nome_trgm
+    List<Usuario> findByNomeContainingIgnoreCaseAndIdGreaterThan(String nome, Long id, Pageable pageable);
+}
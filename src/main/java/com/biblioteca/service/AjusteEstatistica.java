@@ -0,0 +1,64 @@
+package com.biblioteca.service;
+
+import java.util.Map;
+
+import com.biblioteca.domain.model.EstatisticaCategoria;
+import com.biblioteca.domain.model.Livro;
+
+/**
+ * Variação a ser somada aos contadores de uma categoria.
+ */
+public record AjusteEstatistica(long total, long disponiveis, long emprestados, long atrasados) {
+
+    public static final AjusteEstatistica NENHUM = new AjusteEstatistica(0, 0, 0, 0);
+
+    public static AjusteEstatistica inclusao(Livro livro) {
+        return new AjusteEstatistica(1, disponivel(livro) ? 1 : 0, 0, 0);
+    }
+
+    public static AjusteEstatistica exclusao(Livro livro) {
+        return new AjusteEstatistica(-1, disponivel(livro) ? -1 : 0, 0, 0);
+    }
+
+    public static AjusteEstatistica emprestimo() {
+        return new AjusteEstatistica(0, -1, 1, 0);
+    }
+
+    public static AjusteEstatistica atraso() {
+        return new AjusteEstatistica(0, 0, 0, 1);
+    }
+
+    /**
+     * @param liberaLivro se o livro passa de indisponível para disponível
+     * @param atrasado    se o empréstimo estava marcado como atrasado
+     */
+    public static AjusteEstatistica devolucao(boolean liberaLivro, boolean atrasado) {
+        return new AjusteEstatistica(0, liberaLivro ? 1 : 0, -1, atrasado ? -1 : 0);
+    }
+
+    public AjusteEstatistica somar(AjusteEstatistica outro) {
+        return new AjusteEstatistica(total + outro.total, disponiveis + outro.disponiveis,
+                emprestados + outro.emprestados, atrasados + outro.atrasados);
+    }
+
+    public boolean isVazio() {
+        return total == 0 && disponiveis == 0 && emprestados == 0 && atrasados == 0;
+    }
+
+    /**
+     * Acumula o ajuste na categoria do livro, para operações em lote.
+     */
+    public static void acumular(Map<Long, AjusteEstatistica> ajustes, Livro livro, AjusteEstatistica ajuste) {
+        ajustes.merge(categoriaDe(livro), ajuste, AjusteEstatistica::somar);
+    }
+
+    public static Long categoriaDe(Livro livro) {
+        return livro.getCategoria() != null && livro.getCategoria().getId() != null
+                ? livro.getCategoria().getId()
+                : EstatisticaCategoria.SEM_CATEGORIA;
+    }
+
+    private static boolean disponivel(Livro livro) {
+        return Boolean.TRUE.equals(livro.getDisponivel());
+    }
+}
@@ -1,11 +1,9 @@
 package com.biblioteca.service;
 
-import java.util.List;
-
 import com.biblioteca.domain.model.Categoria;
 
 public interface CategoriaService extends CrudService<Long, Categoria> {
     
     // Métodos específicos para categorias
-    List<Categoria> buscarPorNome(String nome);
-}
\ No newline at end of file
+    Pagina<Categoria> buscarPorNome(String nome, String cursor, int tamanho);
+}
@@ -0,0 +1,18 @@
+package com.biblioteca.service;
+
+public interface ContadorAlteracaoService {
+    
+    String LIVROS = "tb_livro";
+    String PRODUTOS = "tb_produto";
+    
+    /**
+     * Versão atual da tabela; zero enquanto ela nunca tiver sido alterada.
+     */
+    long versao(String tabela);
+    
+    /**
+     * Marca a tabela como alterada pela transação corrente. O contador é
+     * incrementado uma única vez, imediatamente antes do commit.
+     */
+    void registrar(String tabela);
+}
@@ -1,11 +1,9 @@
 package com.biblioteca.service;
 
-import java.util.List;
-
 public interface CrudService<ID, T> {
-    List<T> findAll();
+    Pagina<T> findAll(String cursor, int tamanho);
     T findById(ID id);
     T create(T entity);
     T update(ID id, T entity);
     void delete(ID id);
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package com.biblioteca.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.biblioteca.service.exception.BusinessException;
+
+/**
+ * Codifica e decodifica os cursores opacos usados na paginação keyset.
+ *
+ * <p>
+ * O cursor carrega o último ID entregue; a próxima página é buscada com
+ * {@code id > cursor ORDER BY id LIMIT n}, de modo que páginas profundas
+ * custam o mesmo que a primeira (sem OFFSET).
+ * </p>
+ */
+public final class Cursor {
+
+    private static final String PREFIXO = "id:";
+    private static final String PREFIXO_BUSCA = "busca:";
+
+    private Cursor() {
+    }
+
+    public static String codificar(Long id) {
+        byte[] bytes = (PREFIXO + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Retorna o ID a partir do qual a página deve começar; um cursor ausente
+     * corresponde à primeira página.
+     */
+    public static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new BusinessException("Cursor de paginação inválido.");
+            }
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido.");
+        }
+    }
+
+    /**
+     * Posição na lista de resultados de uma busca textual, ordenada por
+     * relevância e desempatada pelo ID.
+     */
+    public record PosicaoBusca(float score, long id) {
+    }
+
+    public static String codificarBusca(float score, long id) {
+        // Os bits do float preservam exatamente a relevância entre as requisições
+        String valor = PREFIXO_BUSCA + Float.floatToIntBits(score) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retorna a posição após a qual a busca deve continuar, ou {@code null} na
+     * primeira página.
+     */
+    public static PosicaoBusca decodificarBusca(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split(":");
+            if (!valor.startsWith(PREFIXO_BUSCA) || partes.length != 3) {
+                throw new BusinessException("Cursor de paginação inválido.");
+            }
+            return new PosicaoBusca(Float.intBitsToFloat(Integer.parseInt(partes[1])), Long.parseLong(partes[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido.");
+        }
+    }
+
+    /**
+     * Limite da consulta: busca um registro a mais para saber se há próxima página.
+     */
+    public static Pageable limite(int tamanho) {
+        return PageRequest.of(0, tamanhoValido(tamanho) + 1, Sort.by("id"));
+    }
+
+    public static int tamanhoValido(int tamanho) {
+        if (tamanho < 1 || tamanho > Pagina.TAMANHO_MAXIMO) {
+            throw new BusinessException("O tamanho da página deve estar entre 1 e " + Pagina.TAMANHO_MAXIMO + ".");
+        }
+        return tamanho;
+    }
+}
@@ -2,21 +2,55 @@ package com.biblioteca.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.biblioteca.domain.model.Emprestimo;
+import com.biblioteca.domain.model.RegistroEmprestimo;
 
 public interface EmprestimoService extends CrudService<Long, Emprestimo> {
     
     // Métodos específicos para empréstimos
-    List<Emprestimo> buscarPorUsuario(Long usuarioId);
+    Pagina<Emprestimo> buscarPorUsuario(Long usuarioId, String cursor, int tamanho);
     
-    List<Emprestimo> buscarPorLivro(Long livroId);
+    Pagina<Emprestimo> buscarPorLivro(Long livroId, String cursor, int tamanho);
     
-    List<Emprestimo> buscarPorStatus(String status);
+    /**
+     * Empréstimos do usuário, incluindo os já movidos para o arquivo histórico.
+     */
+    Pagina<RegistroEmprestimo> buscarHistoricoPorUsuario(Long usuarioId, String cursor, int tamanho);
     
-    List<Emprestimo> buscarAtrasados();
+    /**
+     * Empréstimos do livro, incluindo os já movidos para o arquivo histórico.
+     */
+    Pagina<RegistroEmprestimo> buscarHistoricoPorLivro(Long livroId, String cursor, int tamanho);
+    
+    Pagina<Emprestimo> buscarPorStatus(String status, String cursor, int tamanho);
+    
+    Pagina<Emprestimo> buscarAtrasados(String cursor, int tamanho);
     
     Emprestimo realizarEmprestimo(Long usuarioId, Long livroId, int diasParaDevolucao);
     
     Emprestimo realizarDevolucao(Long emprestimoId);
+    
+    List<ResultadoLote> realizarEmprestimos(Long usuarioId, List<Long> livroIds, int diasParaDevolucao);
+    
+    List<ResultadoLote> realizarDevolucoes(List<Long> emprestimoIds);
+    
+    /**
+     * Marca como ATRASADO o próximo lote de empréstimos vencidos, a partir do
+     * marco gravado pela execução anterior, e retorna quantos foram marcados.
+     */
+    int marcarAtrasados(int tamanhoLote);
+    
+    /**
+     * Move para o arquivo histórico o próximo lote de empréstimos devolvidos
+     * antes da data informada e retorna quantos foram movidos.
+     */
+    int arquivarDevolvidos(LocalDate devolvidosAntesDe, int tamanhoLote);
+    
+    /**
+     * Percorre todos os registros com um cursor do servidor, entregando-os um a
+     * um ao consumidor dentro de uma transação somente leitura.
+     */
+    void exportar(Consumer<Emprestimo> consumidor);
 }
\ No newline at end of file
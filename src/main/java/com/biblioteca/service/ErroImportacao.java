@@ -0,0 +1,7 @@
+package com.biblioteca.service;
+
+/**
+ * Linha de um arquivo de importação que foi recusada e o motivo.
+ */
+public record ErroImportacao(long linha, String mensagem) {
+}
@@ -0,0 +1,27 @@
+package com.biblioteca.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.biblioteca.domain.model.EstatisticaCategoria;
+import com.biblioteca.domain.model.Livro;
+
+public interface EstatisticaService {
+    
+    List<EstatisticaCategoria> listar();
+    
+    /**
+     * Soma o ajuste aos contadores da categoria do livro, na transação corrente.
+     */
+    void registrar(Livro livro, AjusteEstatistica ajuste);
+    
+    /**
+     * Soma os ajustes de um lote, uma atualização por categoria, na transação corrente.
+     */
+    void registrar(Map<Long, AjusteEstatistica> ajustesPorCategoria);
+    
+    /**
+     * Recalcula todos os contadores a partir das tabelas de livros e empréstimos.
+     */
+    void reconciliar();
+}
@@ -0,0 +1,31 @@
+package com.biblioteca.service;
+
+import java.util.UUID;
+
+public interface IdempotenciaService {
+    
+    /**
+     * Reserva a chave para a requisição identificada pela impressão ou informa
+     * o que já existe para ela. Requisições simultâneas com a mesma chave não
+     * recebem {@code NOVA} mais de uma vez.
+     */
+    ReservaIdempotencia reservar(String chave, String impressao);
+    
+    /**
+     * Guarda a resposta de uma requisição reservada, liberando as repetições.
+     * Devolve falso, sem guardar nada, se a reserva não pertence mais ao token
+     * (foi retomada por uma repetição depois do prazo de processamento).
+     */
+    boolean concluir(String chave, UUID token, RespostaArmazenada resposta);
+    
+    /**
+     * Desfaz a reserva de uma requisição que falhou, para que possa ser
+     * repetida, desde que ainda pertença ao token.
+     */
+    void liberar(String chave, UUID token);
+    
+    /**
+     * Apaga as respostas cuja validade terminou e devolve quantas foram removidas.
+     */
+    int removerExpiradas();
+}
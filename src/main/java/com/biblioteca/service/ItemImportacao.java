@@ -0,0 +1,7 @@
+package com.biblioteca.service;
+
+/**
+ * Registro lido de um arquivo de importação, com a linha de origem para o relatório de erros.
+ */
+public record ItemImportacao<T>(long linha, T item) {
+}
@@ -1,19 +1,46 @@
 package com.biblioteca.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.biblioteca.domain.model.Identificavel;
 import com.biblioteca.domain.model.Livro;
 
 public interface LivroService extends CrudService<Long, Livro> {
     
+    // Listagens em que o chamador escolhe o tipo lido: Livro ou a projeção LivroResumo
+    <T extends Identificavel> Pagina<T> findAll(String cursor, int tamanho, Class<T> tipo);
+    
     // Métodos específicos para livros
-    List<Livro> buscarPorTitulo(String titulo);
+    <T extends Identificavel> Pagina<T> buscarPorTitulo(String titulo, String cursor, int tamanho, Class<T> tipo);
+    
+    <T extends Identificavel> Pagina<T> buscarPorAutor(String autor, String cursor, int tamanho, Class<T> tipo);
+    
+    <T extends Identificavel> Pagina<T> buscarPorCategoria(Long categoriaId, String cursor, int tamanho, Class<T> tipo);
+    
+    <T extends Identificavel> Pagina<T> buscarDisponiveis(String cursor, int tamanho, Class<T> tipo);
+    
+    <T extends Identificavel> Pagina<T> buscarIndisponiveis(String cursor, int tamanho, Class<T> tipo);
     
-    List<Livro> buscarPorAutor(String autor);
+    /**
+     * Busca textual em título, autor, editora e sinopse, ordenada por relevância.
+     */
+    Pagina<Livro> pesquisar(String texto, String cursor, int tamanho);
     
-    List<Livro> buscarPorCategoria(Long categoriaId);
+    /**
+     * Versão das listagens: muda a cada transação confirmada que altera algum livro.
+     */
+    long versaoColecao();
     
-    List<Livro> buscarDisponiveis();
+    /**
+     * Percorre todos os registros com um cursor do servidor, entregando-os um a
+     * um ao consumidor dentro de uma transação somente leitura.
+     */
+    void exportar(Consumer<Livro> consumidor);
     
-    List<Livro> buscarIndisponiveis();
+    /**
+     * Grava um lote de registros importados em uma única transação e retorna
+     * as linhas recusadas.
+     */
+    List<ErroImportacao> importar(List<ItemImportacao<Livro>> lote);
 }
\ No newline at end of file
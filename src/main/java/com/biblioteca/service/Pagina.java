@@ -0,0 +1,35 @@
+package com.biblioteca.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados obtida por paginação de cursor (keyset sobre o ID).
+ *
+ * <p>
+ * O {@code proximoCursor} é um token opaco que deve ser repassado na próxima
+ * requisição; quando nulo, não há mais resultados.
+ * </p>
+ */
+public record Pagina<T>(List<T> itens, String proximoCursor) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 500;
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code tamanho + 1}
+     * registros: o registro excedente apenas indica que existe uma próxima página.
+     */
+    public static <T> Pagina<T> of(List<T> registros, int tamanho, Function<T, Long> id) {
+        if (registros.size() <= tamanho) {
+            return new Pagina<>(registros, null);
+        }
+        List<T> itens = registros.subList(0, tamanho);
+        return new Pagina<>(itens, Cursor.codificar(id.apply(itens.get(tamanho - 1))));
+    }
+
+    public <R> Pagina<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> convertidos = itens.stream().<R>map(mapper).toList();
+        return new Pagina<>(convertidos, proximoCursor);
+    }
+}
@@ -2,23 +2,45 @@ package com.biblioteca.service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.biblioteca.domain.model.Identificavel;
 import com.biblioteca.domain.model.Produto;
 
 public interface ProdutoService extends CrudService<Long, Produto> {
     
+    // Listagens em que o chamador escolhe o tipo lido: Produto ou a projeção ProdutoResumo
+    <T extends Identificavel> Pagina<T> findAll(String cursor, int tamanho, Class<T> tipo);
+    
     // Métodos específicos para produtos
-    List<Produto> buscarPorNome(String nome);
+    <T extends Identificavel> Pagina<T> buscarPorNome(String nome, String cursor, int tamanho, Class<T> tipo);
+    
+    <T extends Identificavel> Pagina<T> buscarPorCategoria(Long categoriaId, String cursor, int tamanho, Class<T> tipo);
+    
+    <T extends Identificavel> Pagina<T> buscarAtivos(String cursor, int tamanho, Class<T> tipo);
+    
+    <T extends Identificavel> Pagina<T> buscarInativos(String cursor, int tamanho, Class<T> tipo);
     
-    List<Produto> buscarPorCategoria(Long categoriaId);
+    <T extends Identificavel> Pagina<T> buscarPorPrecoMaximo(BigDecimal precoMaximo, String cursor, int tamanho, Class<T> tipo);
     
-    List<Produto> buscarAtivos();
+    <T extends Identificavel> Pagina<T> buscarPorPrecoMinimo(BigDecimal precoMinimo, String cursor, int tamanho, Class<T> tipo);
     
-    List<Produto> buscarInativos();
+    <T extends Identificavel> Pagina<T> buscarEmEstoque(String cursor, int tamanho, Class<T> tipo);
     
-    List<Produto> buscarPorPrecoMaximo(BigDecimal precoMaximo);
+    /**
+     * Versão das listagens: muda a cada transação confirmada que altera algum produto.
+     */
+    long versaoColecao();
     
-    List<Produto> buscarPorPrecoMinimo(BigDecimal precoMinimo);
+    /**
+     * Percorre todos os registros com um cursor do servidor, entregando-os um a
+     * um ao consumidor dentro de uma transação somente leitura.
+     */
+    void exportar(Consumer<Produto> consumidor);
     
-    List<Produto> buscarEmEstoque();
+    /**
+     * Grava um lote de registros importados em uma única transação e retorna
+     * as linhas recusadas.
+     */
+    List<ErroImportacao> importar(List<ItemImportacao<Produto>> lote);
 }
\ No newline at end of file
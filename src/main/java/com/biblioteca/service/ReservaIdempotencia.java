@@ -0,0 +1,38 @@
+package com.biblioteca.service;
+
+import java.util.UUID;
+
+/**
+ * Desfecho da reserva de uma {@code Idempotency-Key}: a requisição deve ser
+ * executada, já tem resposta guardada, ainda está sendo processada por outra
+ * requisição ou usa a chave de uma requisição diferente. Uma reserva
+ * {@code NOVA} traz o token com que a resposta é concluída ou a chave liberada.
+ */
+public record ReservaIdempotencia(Situacao situacao, RespostaArmazenada resposta, UUID token) {
+
+    public enum Situacao {
+        NOVA,
+        CONCLUIDA,
+        EM_ANDAMENTO,
+        DIVERGENTE
+    }
+
+    public static ReservaIdempotencia nova(UUID token) {
+        return new ReservaIdempotencia(Situacao.NOVA, null, token);
+    }
+
+    public static ReservaIdempotencia emAndamento() {
+        return new ReservaIdempotencia(Situacao.EM_ANDAMENTO, null, null);
+    }
+
+    public static ReservaIdempotencia divergente() {
+        return new ReservaIdempotencia(Situacao.DIVERGENTE, null, null);
+    }
+
+    // Compara a requisição atual com a que gerou a resposta guardada
+    public static ReservaIdempotencia de(RespostaArmazenada resposta, String impressao) {
+        return resposta.impressao().equals(impressao)
+                ? new ReservaIdempotencia(Situacao.CONCLUIDA, resposta, null)
+                : divergente();
+    }
+}
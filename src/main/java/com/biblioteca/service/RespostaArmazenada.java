@@ -0,0 +1,9 @@
+package com.biblioteca.service;
+
+/**
+ * Resposta guardada para uma {@code Idempotency-Key}, repetida byte a byte às
+ * requisições seguintes com a mesma chave. A impressão identifica a requisição
+ * original (método, caminho e corpo).
+ */
+public record RespostaArmazenada(String impressao, int status, String tipoConteudo, byte[] corpo) {
+}
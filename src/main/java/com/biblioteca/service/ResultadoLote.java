@@ -0,0 +1,22 @@
+package com.biblioteca.service;
+
+import com.biblioteca.domain.model.Emprestimo;
+
+/**
+ * Resultado de um item de uma operação em lote: o empréstimo afetado ou o
+ * motivo pelo qual o item foi recusado.
+ */
+public record ResultadoLote(Long id, Emprestimo emprestimo, String erro) {
+
+    public static ResultadoLote sucesso(Long id, Emprestimo emprestimo) {
+        return new ResultadoLote(id, emprestimo, null);
+    }
+
+    public static ResultadoLote falha(Long id, String erro) {
+        return new ResultadoLote(id, null, erro);
+    }
+
+    public boolean isSucesso() {
+        return erro == null;
+    }
+}
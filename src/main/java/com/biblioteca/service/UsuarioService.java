@@ -1,7 +1,5 @@
 package com.biblioteca.service;
 
-import java.util.List;
-
 import com.biblioteca.domain.model.Usuario;
 
 public interface UsuarioService extends CrudService<Long, Usuario> {
@@ -11,5 +9,5 @@ public interface UsuarioService extends CrudService<Long, Usuario> {
     
     Usuario buscarPorCpf(String cpf);
     
-    List<Usuario> buscarPorNome(String nome);
-}
\ No newline at end of file
+    Pagina<Usuario> buscarPorNome(String nome, String cursor, int tamanho);
+}
@@ -0,0 +1,27 @@
+package com.biblioteca.service.busca;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * Analisador do catálogo: separa palavras, converte para minúsculas e remove
+ * acentos, para que "ciume" encontre "ciúme".
+ */
+final class CatalogoAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String campo) {
+        Tokenizer tokenizer = new StandardTokenizer();
+        TokenStream filtro = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+        return new TokenStreamComponents(tokenizer, filtro);
+    }
+
+    @Override
+    protected TokenStream normalize(String campo, TokenStream entrada) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+    }
+}
@@ -0,0 +1,184 @@
+package com.biblioteca.service.busca;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.service.exception.BusinessException;
+import com.biblioteca.service.exception.IndisponivelException;
+
+/**
+ * Índice invertido (Lucene) sobre título, autor, editora e sinopse dos livros.
+ *
+ * <p>
+ * O índice fica em memória por padrão, ou no diretório configurado em
+ * {@code biblioteca.busca.diretorio}, e é reconstruído a partir do banco na
+ * inicialização; até lá, as buscas são recusadas com
+ * {@link IndisponivelException}. Depois, acompanha as alterações de todas as
+ * instâncias ({@link CatalogoIndexListener}).
+ * </p>
+ */
+@Component
+public class CatalogoIndex implements DisposableBean {
+
+    private static final String ID = "id";
+
+    // Pesos por campo: um termo no título vale mais que o mesmo termo na sinopse
+    private static final Map<String, Float> CAMPOS = Map.of(
+            "titulo", 4f,
+            "autor", 3f,
+            "editora", 1f,
+            "sinopse", 1f);
+
+    // Ordena por relevância e desempata pelo ID, o que permite paginar com searchAfter
+    private static final Sort ORDENACAO = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG));
+
+    private final CatalogoAnalyzer analyzer = new CatalogoAnalyzer();
+    private final Directory diretorio;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reabertura;
+    private volatile boolean pronto;
+
+    public CatalogoIndex(@Value("${biblioteca.busca.diretorio:}") String caminho) throws IOException {
+        this.diretorio = caminho.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(caminho));
+        var config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                .setRAMBufferSizeMB(64);
+        this.writer = new IndexWriter(diretorio, config);
+        this.searcherManager = new SearcherManager(writer, null);
+        this.reabertura = new ControlledRealTimeReopenThread<>(writer, searcherManager, 1.0, 0.025);
+        this.reabertura.setName("catalogo-index-reabertura");
+        this.reabertura.setDaemon(true);
+        this.reabertura.start();
+    }
+
+    /**
+     * Resultado da busca: o livro e a relevância com que foi encontrado.
+     */
+    public record Acerto(long livroId, float score) {
+    }
+
+    /**
+     * Libera as buscas, depois que o índice foi construído com todos os livros.
+     */
+    public void liberar() {
+        this.pronto = true;
+    }
+
+    public void indexar(Livro livro) {
+        Document documento = new Document();
+        String id = livro.getId().toString();
+        documento.add(new StringField(ID, id, Field.Store.NO));
+        documento.add(new NumericDocValuesField(ID, livro.getId()));
+        adicionarTexto(documento, "titulo", livro.getTitulo());
+        adicionarTexto(documento, "autor", livro.getAutor());
+        adicionarTexto(documento, "editora", livro.getEditora());
+        adicionarTexto(documento, "sinopse", livro.getSinopse());
+        try {
+            writer.updateDocument(new Term(ID, id), documento);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void remover(Long livroId) {
+        try {
+            writer.deleteDocuments(new Term(ID, livroId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Busca livros por relevância. Para a página seguinte, informe a relevância e
+     * o ID do último acerto recebido; na primeira página, ambos são nulos.
+     */
+    public List<Acerto> buscar(String texto, Float aposScore, Long aposId, int quantidade) {
+        if (!pronto) {
+            // Um índice incompleto responderia com resultados faltando, sem aviso
+            throw new IndisponivelException("Índice de busca em construção. Tente novamente em instantes.");
+        }
+        Query consulta = montarConsulta(texto);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Relevância e ID identificam a posição; o número do documento só
+                // precisa ser o maior possível para excluir o próprio último acerto
+                ScoreDoc apos = aposId == null ? null
+                        : new FieldDoc(searcher.getIndexReader().maxDoc() - 1, aposScore, new Object[] { aposScore, aposId });
+                TopFieldDocs encontrados = searcher.searchAfter(apos, consulta, quantidade, ORDENACAO, true);
+                List<Acerto> acertos = new ArrayList<>(encontrados.scoreDocs.length);
+                for (ScoreDoc scoreDoc : encontrados.scoreDocs) {
+                    FieldDoc fieldDoc = (FieldDoc) scoreDoc;
+                    acertos.add(new Acerto((Long) fieldDoc.fields[1], fieldDoc.score));
+                }
+                return acertos;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query montarConsulta(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new BusinessException("Informe o texto da busca.");
+        }
+        String[] campos = CAMPOS.keySet().toArray(String[]::new);
+        var parser = new MultiFieldQueryParser(campos, analyzer, CAMPOS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            // O texto é tratado como palavras simples, sem a sintaxe de consulta do Lucene
+            return parser.parse(QueryParser.escape(texto));
+        } catch (ParseException e) {
+            throw new BusinessException("Texto de busca inválido.");
+        }
+    }
+
+    private static void adicionarTexto(Document documento, String campo, String valor) {
+        if (valor != null) {
+            documento.add(new TextField(campo, valor, Field.Store.NO));
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        reabertura.close();
+        searcherManager.close();
+        writer.close();
+        diretorio.close();
+    }
+}
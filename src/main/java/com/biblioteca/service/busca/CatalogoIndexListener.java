@@ -0,0 +1,142 @@
+package com.biblioteca.service.busca;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.domain.model.AlteracaoLivro;
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.repository.AlteracaoLivroRepository;
+import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.service.LivroService;
+
+/**
+ * Mantém o índice do catálogo em sincronia com o banco: reconstrói o índice na
+ * inicialização e, a cada segundo, aplica as alterações registradas em
+ * {@code tb_alteracao_livro} por qualquer instância.
+ *
+ * <p>
+ * A reconstrução anota a última alteração registrada antes de exportar os
+ * livros e, ao terminar, reaplica tudo o que veio depois, de modo que um livro
+ * removido durante a exportação não permanece no índice. Aplicar uma alteração
+ * é reler o livro do banco: se existe, é reindexado; se não, sai do índice.
+ * </p>
+ *
+ * <p>
+ * A identidade das alterações segue a ordem dos INSERTs, não a dos commits: uma
+ * transação mais lenta pode confirmar uma alteração com ID menor que outra já
+ * lida. Por isso a posição só avança sobre alterações mais antigas que
+ * {@code biblioteca.busca.margem-commit}; as mais recentes são relidas (e
+ * aplicadas uma única vez) até passarem da margem.
+ * </p>
+ */
+@Component
+public class CatalogoIndexListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogoIndexListener.class);
+
+    private static final int LOTE = 1000;
+
+    private final CatalogoIndex catalogoIndex;
+    private final LivroService livroService;
+    private final LivroRepository livroRepository;
+    private final AlteracaoLivroRepository alteracaoRepository;
+    private final Duration margemCommit;
+    private final Duration retencao;
+
+    // Todas as alterações até esta já estão no índice; -1 antes da primeira reconstrução
+    private long posicao = -1;
+
+    // Alterações após a posição, ainda dentro da margem, já aplicadas
+    private final Set<Long> aplicadas = new HashSet<>();
+
+    public CatalogoIndexListener(CatalogoIndex catalogoIndex, LivroService livroService,
+                                 LivroRepository livroRepository, AlteracaoLivroRepository alteracaoRepository,
+                                 @Value("${biblioteca.busca.margem-commit:1m}") Duration margemCommit,
+                                 @Value("${biblioteca.busca.retencao:24h}") Duration retencao) {
+        this.catalogoIndex = catalogoIndex;
+        this.livroService = livroService;
+        this.livroRepository = livroRepository;
+        this.alteracaoRepository = alteracaoRepository;
+        this.margemCommit = margemCommit;
+        this.retencao = retencao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        long inicio = System.nanoTime();
+        long ultima = alteracaoRepository.ultimoId();
+        livroService.exportar(catalogoIndex::indexar);
+        posicao = ultima;
+        aplicadas.clear();
+        acompanhar();
+        catalogoIndex.liberar();
+        logger.info("Índice do catálogo reconstruído em {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${biblioteca.busca.acompanhamento:1000}")
+    public synchronized void acompanhar() {
+        if (posicao < 0) {
+            return;
+        }
+        LocalDateTime limite = LocalDateTime.now().minus(margemCommit);
+        long novaPosicao = posicao;
+        boolean consolidada = true;
+        long cursor = posicao;
+        List<AlteracaoLivro> lote;
+        do {
+            lote = alteracaoRepository.findByIdGreaterThanOrderById(cursor, PageRequest.of(0, LOTE));
+            Set<Long> livroIds = new LinkedHashSet<>();
+            for (AlteracaoLivro alteracao : lote) {
+                if (aplicadas.add(alteracao.getId())) {
+                    livroIds.add(alteracao.getLivroId());
+                }
+                consolidada = consolidada && alteracao.getDataAlteracao().isBefore(limite);
+                if (consolidada) {
+                    novaPosicao = alteracao.getId();
+                }
+                cursor = alteracao.getId();
+            }
+            aplicar(livroIds);
+        } while (lote.size() == LOTE);
+
+        long consolidadaAte = novaPosicao;
+        aplicadas.removeIf(id -> id <= consolidadaAte);
+        posicao = novaPosicao;
+    }
+
+    private void aplicar(Set<Long> livroIds) {
+        if (livroIds.isEmpty()) {
+            return;
+        }
+        for (Livro livro : livroRepository.findAllById(livroIds)) {
+            catalogoIndex.indexar(livro);
+            livroIds.remove(livro.getId());
+        }
+        // Os que não existem mais foram removidos
+        livroIds.forEach(catalogoIndex::remover);
+    }
+
+    // Basta que a retenção seja maior que o tempo de reconstrução do índice
+    @Scheduled(cron = "${biblioteca.busca.limpeza:0 45 * * * *}")
+    @Transactional
+    public void limpar() {
+        int removidas = alteracaoRepository.removerAnteriores(LocalDateTime.now().minus(retencao));
+        if (removidas > 0) {
+            logger.info("{} alterações de livros antigas removidas", removidas);
+        }
+    }
+}
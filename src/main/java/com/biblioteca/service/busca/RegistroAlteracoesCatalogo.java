@@ -0,0 +1,69 @@
+package com.biblioteca.service.busca;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.service.event.LivroAlteradoEvent;
+
+/**
+ * Grava em {@code tb_alteracao_livro}, na mesma transação que alterou os
+ * livros, os IDs gravados ou removidos. É dessa tabela que o índice de busca de
+ * cada instância lê as alterações ({@link CatalogoIndexListener}).
+ */
+@Component
+public class RegistroAlteracoesCatalogo {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RegistroAlteracoesCatalogo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener
+    public void aoAlterarLivro(LivroAlteradoEvent evento) {
+        @SuppressWarnings("unchecked")
+        Set<Long> pendentes = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            pendentes = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, pendentes);
+            TransactionSynchronizationManager.registerSynchronization(new Gravacao(pendentes));
+        }
+        pendentes.add(evento.livroId());
+    }
+
+    // Um INSERT em lote no fim da transação, e uma linha por livro mesmo que a
+    // transação o tenha alterado várias vezes (importação, por exemplo)
+    private class Gravacao implements TransactionSynchronization {
+
+        private final Set<Long> livroIds;
+
+        Gravacao(Set<Long> livroIds) {
+            this.livroIds = livroIds;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> linhas = new ArrayList<>(livroIds.size());
+            for (Long livroId : livroIds) {
+                linhas.add(new Object[] { livroId, agora });
+            }
+            jdbcTemplate.batchUpdate("insert into tb_alteracao_livro (livro_id, data_alteracao) values (?, ?)", linhas);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(RegistroAlteracoesCatalogo.this);
+        }
+    }
+}
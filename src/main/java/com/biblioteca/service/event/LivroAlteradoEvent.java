@@ -0,0 +1,27 @@
+package com.biblioteca.service.event;
+
+import com.biblioteca.domain.model.Livro;
+
+/**
+ * Publicado pelo serviço de livros quando um livro é gravado ou removido.
+ *
+ * <p>
+ * É publicado dentro da transação que alterou o livro: o registro da alteração
+ * para o índice de busca é gravado nessa mesma transação.
+ * </p>
+ */
+public record LivroAlteradoEvent(Long livroId, Livro livro, Tipo tipo) {
+
+    public enum Tipo {
+        SALVO,
+        REMOVIDO
+    }
+
+    public static LivroAlteradoEvent salvo(Livro livro) {
+        return new LivroAlteradoEvent(livro.getId(), livro, Tipo.SALVO);
+    }
+
+    public static LivroAlteradoEvent removido(Long livroId) {
+        return new LivroAlteradoEvent(livroId, null, Tipo.REMOVIDO);
+    }
+}
@@ -0,0 +1,14 @@
+package com.biblioteca.service.exception;
+
+/**
+ * Indica que a operação foi recusada porque o estado do recurso mudou ou
+ * conflita com a requisição (por exemplo, livro já emprestado).
+ */
+public class ConflictException extends BusinessException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
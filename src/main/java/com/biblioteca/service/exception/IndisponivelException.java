@@ -0,0 +1,14 @@
+package com.biblioteca.service.exception;
+
+/**
+ * Indica que o recurso ainda não pode atender a requisição (por exemplo, o
+ * índice de busca sendo construído na inicialização); o cliente deve tentar de novo.
+ */
+public class IndisponivelException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IndisponivelException(String message) {
+        super(message);
+    }
+}
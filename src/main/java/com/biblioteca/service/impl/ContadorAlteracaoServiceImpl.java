@@ -0,0 +1,85 @@
+package com.biblioteca.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.domain.repository.ContadorAlteracaoRepository;
+import com.biblioteca.domain.repository.InsercaoSeAusente;
+import com.biblioteca.service.ContadorAlteracaoService;
+
+@Service
+public class ContadorAlteracaoServiceImpl implements ContadorAlteracaoService {
+
+    private final ContadorAlteracaoRepository contadorRepository;
+    private final InsercaoSeAusente insercaoSeAusente;
+    private final int faixas;
+
+    public ContadorAlteracaoServiceImpl(ContadorAlteracaoRepository contadorRepository,
+                                        InsercaoSeAusente insercaoSeAusente,
+                                        @Value("${biblioteca.contadores.faixas:16}") int faixas) {
+        this.contadorRepository = contadorRepository;
+        this.insercaoSeAusente = insercaoSeAusente;
+        this.faixas = faixas;
+    }
+
+    @Transactional(readOnly = true)
+    public long versao(String tabela) {
+        return this.contadorRepository.buscarVersao(tabela);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String tabela) {
+        @SuppressWarnings("unchecked")
+        Set<String> pendentes = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            pendentes = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, pendentes);
+            TransactionSynchronizationManager.registerSynchronization(new Incremento(pendentes));
+        }
+        pendentes.add(tabela);
+    }
+
+    private void incrementar(String tabela) {
+        int faixa = ThreadLocalRandom.current().nextInt(this.faixas);
+        if (this.contadorRepository.incrementar(tabela, faixa) == 0) {
+            // Primeira alteração da faixa: a linha é criada na própria transação,
+            // sem ocupar uma segunda conexão do pool durante o commit
+            this.insercaoSeAusente.inserir("tb_contador_alteracao", List.of("tabela", "faixa"),
+                    Map.of("tabela", tabela, "faixa", faixa, "versao", 0L));
+            this.contadorRepository.incrementar(tabela, faixa);
+        }
+    }
+
+    // Incrementar só no fim mantém a linha do contador bloqueada apenas durante
+    // o commit, e a faixa sorteada faz escritas concorrentes na mesma tabela
+    // raramente disputarem a mesma linha. A ordem alfabética das tabelas evita
+    // impasses entre transações que alteram mais de uma
+    private class Incremento implements TransactionSynchronization {
+
+        private final Set<String> tabelas;
+
+        Incremento(Set<String> tabelas) {
+            this.tabelas = tabelas;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            this.tabelas.forEach(ContadorAlteracaoServiceImpl.this::incrementar);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(ContadorAlteracaoServiceImpl.this);
+        }
+    }
+}
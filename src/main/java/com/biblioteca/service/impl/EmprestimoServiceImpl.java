@@ -1,37 +1,119 @@
 package com.biblioteca.service.impl;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+import com.biblioteca.config.CacheConfig;
 import com.biblioteca.domain.model.Emprestimo;
 import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.MarcoProcessamento;
+import com.biblioteca.domain.model.RegistroEmprestimo;
+import com.biblioteca.domain.model.StatusEmprestimo;
 import com.biblioteca.domain.model.Usuario;
+import com.biblioteca.domain.repository.EmprestimoArquivadoRepository;
 import com.biblioteca.domain.repository.EmprestimoRepository;
+import com.biblioteca.domain.repository.InsercaoSeAusente;
 import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.domain.repository.MarcoProcessamentoRepository;
 import com.biblioteca.domain.repository.UsuarioRepository;
+import com.biblioteca.service.AjusteEstatistica;
+import com.biblioteca.service.ContadorAlteracaoService;
+import com.biblioteca.service.Cursor;
 import com.biblioteca.service.EmprestimoService;
+import com.biblioteca.service.EstatisticaService;
+import com.biblioteca.service.Pagina;
+import com.biblioteca.service.ResultadoLote;
 import com.biblioteca.service.exception.BusinessException;
+import com.biblioteca.service.exception.ConflictException;
 import com.biblioteca.service.exception.NotFoundException;
 
 @Service
 public class EmprestimoServiceImpl implements EmprestimoService {
     
+    private static final int TAMANHO_MAXIMO_LOTE = 100;
+    private static final String VARREDURA_ATRASOS = "varredura-atrasos";
+    
+    // Empréstimos vencidos ainda não alcançados pela varredura continuam com status ATIVO
+    private static final List<StatusEmprestimo> STATUS_EM_ABERTO = List.of(StatusEmprestimo.ATIVO, StatusEmprestimo.ATRASADO);
+    
     private final EmprestimoRepository emprestimoRepository;
+    private final EmprestimoArquivadoRepository arquivoRepository;
     private final UsuarioRepository usuarioRepository;
     private final LivroRepository livroRepository;
+    private final MarcoProcessamentoRepository marcoRepository;
+    private final InsercaoSeAusente insercaoSeAusente;
+    private final EntityManager entityManager;
+    private final Cache livrosCache;
+    private final EstatisticaService estatisticaService;
+    private final ContadorAlteracaoService contadorService;
+    private final Counter emprestimosRealizados;
+    private final Counter devolucoesRealizadas;
     
     public EmprestimoServiceImpl(EmprestimoRepository emprestimoRepository, 
+                                EmprestimoArquivadoRepository arquivoRepository,
                                 UsuarioRepository usuarioRepository,
-                                LivroRepository livroRepository) {
+                                LivroRepository livroRepository,
+                                MarcoProcessamentoRepository marcoRepository,
+                                InsercaoSeAusente insercaoSeAusente,
+                                EntityManager entityManager,
+                                CacheManager cacheManager,
+                                EstatisticaService estatisticaService,
+                                ContadorAlteracaoService contadorService,
+                                MeterRegistry registry) {
         this.emprestimoRepository = emprestimoRepository;
+        this.arquivoRepository = arquivoRepository;
         this.usuarioRepository = usuarioRepository;
         this.livroRepository = livroRepository;
+        this.marcoRepository = marcoRepository;
+        this.insercaoSeAusente = insercaoSeAusente;
+        this.entityManager = entityManager;
+        this.livrosCache = cacheManager.getCache(CacheConfig.LIVROS);
+        this.estatisticaService = estatisticaService;
+        this.contadorService = contadorService;
+        this.emprestimosRealizados = Counter.builder("biblioteca.emprestimos.realizados")
+                .description("Empréstimos realizados, avulsos ou em lote")
+                .register(registry);
+        this.devolucoesRealizadas = Counter.builder("biblioteca.devolucoes.realizadas")
+                .description("Devoluções realizadas, avulsas ou em lote")
+                .register(registry);
     }
 
     @Override
     public Emprestimo create(Emprestimo entity) {
+        validarPrevisao(entity);
+        if (entity.getUsuario() == null || entity.getLivro() == null) {
+            throw new BusinessException("O usuário e o livro do empréstimo são obrigatórios.");
+        }
+        // O corpo traz apenas os IDs: o usuário e o livro são os cadastrados
+        Long usuarioId = entity.getUsuario().getId();
+        Long livroId = entity.getLivro().getId();
+        entity.setUsuario(usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new NotFoundException("Usuário não encontrado com o ID: " + usuarioId)));
+        entity.setLivro(livroRepository.findById(livroId)
+                .orElseThrow(() -> new NotFoundException("Livro não encontrado com o ID: " + livroId)));
         return emprestimoRepository.save(entity);
     }
 
@@ -42,17 +124,34 @@ public class EmprestimoServiceImpl implements EmprestimoService {
     }
 
     @Override
-    public List<Emprestimo> findAll() {
-        return emprestimoRepository.findAll();
+    public Pagina<Emprestimo> findAll(String cursor, int tamanho) {
+        var emprestimos = emprestimoRepository.findByIdGreaterThan(Cursor.decodificar(cursor), Cursor.limite(tamanho));
+        return Pagina.of(emprestimos, tamanho, Emprestimo::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportar(Consumer<Emprestimo> consumidor) {
+        try (Stream<Emprestimo> emprestimos = emprestimoRepository.streamAll()) {
+            // Desanexa cada empréstimo após o uso para não acumulá-los na sessão
+            emprestimos.forEach(emprestimo -> {
+                consumidor.accept(emprestimo);
+                entityManager.detach(emprestimo);
+            });
+        }
     }
 
     @Override
     public Emprestimo update(Long id, Emprestimo entity) {
         Emprestimo emprestimo = findById(id);
+        StatusEmprestimo anterior = emprestimo.getStatus();
         
         // Atualiza apenas os campos permitidos
         emprestimo.setStatus(entity.getStatus());
         emprestimo.setDataRealDevolucao(entity.getDataRealDevolucao());
+        if (emprestimo.getStatus() != anterior) {
+            validarPrevisao(emprestimo);
+        }
         
         return emprestimoRepository.save(emprestimo);
     }
@@ -64,80 +163,292 @@ public class EmprestimoServiceImpl implements EmprestimoService {
     }
 
     @Override
-    public List<Emprestimo> buscarPorUsuario(Long usuarioId) {
-        return emprestimoRepository.findByUsuarioId(usuarioId);
+    public Pagina<Emprestimo> buscarPorUsuario(Long usuarioId, String cursor, int tamanho) {
+        var emprestimos = emprestimoRepository.findByUsuario_IdAndIdGreaterThan(usuarioId, Cursor.decodificar(cursor), Cursor.limite(tamanho));
+        return Pagina.of(emprestimos, tamanho, Emprestimo::getId);
+    }
+
+    @Override
+    public Pagina<Emprestimo> buscarPorLivro(Long livroId, String cursor, int tamanho) {
+        var emprestimos = emprestimoRepository.findByLivro_IdAndIdGreaterThan(livroId, Cursor.decodificar(cursor), Cursor.limite(tamanho));
+        return Pagina.of(emprestimos, tamanho, Emprestimo::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<RegistroEmprestimo> buscarHistoricoPorUsuario(Long usuarioId, String cursor, int tamanho) {
+        long apos = Cursor.decodificar(cursor);
+        return mesclar(emprestimoRepository.findByUsuario_IdAndIdGreaterThan(usuarioId, apos, Cursor.limite(tamanho)),
+                arquivoRepository.findByUsuarioIdAndIdGreaterThan(usuarioId, apos, Cursor.limite(tamanho)), tamanho);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<RegistroEmprestimo> buscarHistoricoPorLivro(Long livroId, String cursor, int tamanho) {
+        long apos = Cursor.decodificar(cursor);
+        return mesclar(emprestimoRepository.findByLivro_IdAndIdGreaterThan(livroId, apos, Cursor.limite(tamanho)),
+                arquivoRepository.findByLivroIdAndIdGreaterThan(livroId, apos, Cursor.limite(tamanho)), tamanho);
+    }
+
+    // Os IDs são únicos entre as duas tabelas, então a página é a intercalação
+    // ordenada das duas consultas, cada uma já limitada a tamanho + 1
+    private static Pagina<RegistroEmprestimo> mesclar(List<? extends RegistroEmprestimo> ativos,
+            List<? extends RegistroEmprestimo> arquivados, int tamanho) {
+        List<RegistroEmprestimo> registros = new ArrayList<>(ativos.size() + arquivados.size());
+        registros.addAll(ativos);
+        registros.addAll(arquivados);
+        registros.sort(Comparator.comparing(RegistroEmprestimo::getId));
+        return Pagina.of(registros, tamanho, RegistroEmprestimo::getId);
     }
 
     @Override
-    public List<Emprestimo> buscarPorLivro(Long livroId) {
-        return emprestimoRepository.findByLivroId(livroId);
+    public Pagina<Emprestimo> buscarPorStatus(String status, String cursor, int tamanho) {
+        var emprestimos = emprestimoRepository.findByStatusAndIdGreaterThan(converterStatus(status), Cursor.decodificar(cursor), Cursor.limite(tamanho));
+        return Pagina.of(emprestimos, tamanho, Emprestimo::getId);
     }
 
     @Override
-    public List<Emprestimo> buscarPorStatus(String status) {
-        return emprestimoRepository.findByStatus(status);
+    public Pagina<Emprestimo> buscarAtrasados(String cursor, int tamanho) {
+        // O filtro de status precisa estar na consulta para que o cursor seja consistente
+        LocalDate hoje = LocalDate.now();
+        var emprestimos = emprestimoRepository.findByStatusInAndDataPrevistaDevolucaoBeforeAndIdGreaterThan(
+                STATUS_EM_ABERTO, hoje, Cursor.decodificar(cursor), Cursor.limite(tamanho));
+        return Pagina.of(emprestimos, tamanho, Emprestimo::getId);
     }
 
     @Override
-    public List<Emprestimo> buscarAtrasados() {
+    @Transactional
+    public int marcarAtrasados(int tamanhoLote) {
         LocalDate hoje = LocalDate.now();
-        return emprestimoRepository.findByDataPrevistaDevolucaoBefore(hoje)
-                .stream()
-                .filter(emprestimo -> "ATIVO".equals(emprestimo.getStatus()))
-                .toList();
+        MarcoProcessamento marco = marcoRepository.bloquear(VARREDURA_ATRASOS).orElseGet(() -> {
+            // Primeira varredura: duas execuções simultâneas podem tentar criar o
+            // marco, então a inserção não falha se a outra já o tiver criado
+            insercaoSeAusente.inserir("tb_marco_processamento", "tarefa", Map.of("tarefa", VARREDURA_ATRASOS,
+                    "ultima_data", LocalDate.EPOCH, "ultimo_id", 0L));
+            return marcoRepository.bloquear(VARREDURA_ATRASOS).orElseThrow();
+        });
+        
+        List<Emprestimo> vencidos = emprestimoRepository.bloquearVencidos(hoje, marco.getUltimaData(),
+                marco.getUltimoId(), PageRequest.of(0, tamanhoLote));
+        if (vencidos.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, AjusteEstatistica> ajustes = new HashMap<>();
+        for (Emprestimo emprestimo : vencidos) {
+            emprestimo.setStatus(StatusEmprestimo.ATRASADO);
+            AjusteEstatistica.acumular(ajustes, emprestimo.getLivro(), AjusteEstatistica.atraso());
+        }
+        estatisticaService.registrar(ajustes);
+        
+        // O marco avança na mesma transação do lote: uma falha não deixa lotes pela metade
+        Emprestimo ultimo = vencidos.get(vencidos.size() - 1);
+        marco.avancar(ultimo.getDataPrevistaDevolucao(), ultimo.getId());
+        return vencidos.size();
     }
 
     @Override
+    @Transactional
+    public int arquivarDevolvidos(LocalDate devolvidosAntesDe, int tamanhoLote) {
+        List<Long> ids = emprestimoRepository.findIdsDevolvidosAntesDe(devolvidosAntesDe, PageRequest.of(0, tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        // Cópia e exclusão na mesma transação: cada empréstimo está sempre em exatamente uma das tabelas
+        arquivoRepository.copiarEmprestimos(ids, LocalDateTime.now());
+        emprestimoRepository.excluirPorIds(ids);
+        return ids.size();
+    }
+
+    @Override
+    @Transactional
     public Emprestimo realizarEmprestimo(Long usuarioId, Long livroId, int diasParaDevolucao) {
+        validarPrazo(diasParaDevolucao);
+        
         // Busca o usuário
         Usuario usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> new NotFoundException("Usuário não encontrado com o ID: " + usuarioId));
         
-        // Busca o livro
+        // Reserva o livro com um UPDATE condicional: entre checkouts simultâneos
+        // do mesmo exemplar, apenas uma transação consegue alterar a linha
+        if (livroRepository.reservar(livroId, LocalDateTime.now()) == 0) {
+            if (!livroRepository.existsById(livroId)) {
+                throw new NotFoundException("Livro não encontrado com o ID: " + livroId);
+            }
+            throw new ConflictException("O livro não está disponível para empréstimo");
+        }
+        // A disponibilidade mudou: o livro sai do cache quando a transação for confirmada
+        livrosCache.evict(livroId);
+        contadorService.registrar(ContadorAlteracaoService.LIVROS);
+        
+        // Carregado após a reserva, o livro já reflete o novo estado
         Livro livro = livroRepository.findById(livroId)
                 .orElseThrow(() -> new NotFoundException("Livro não encontrado com o ID: " + livroId));
         
-        // Verifica se o livro está disponível
-        if (livro.getDisponivel() == null || !livro.getDisponivel()) {
-            throw new BusinessException("O livro não está disponível para empréstimo");
-        }
-        
         // Cria o empréstimo
         Emprestimo emprestimo = new Emprestimo();
         emprestimo.setUsuario(usuario);
         emprestimo.setLivro(livro);
         emprestimo.setDataEmprestimo(LocalDate.now());
         emprestimo.setDataPrevistaDevolucao(LocalDate.now().plusDays(diasParaDevolucao));
-        emprestimo.setStatus("ATIVO");
+        emprestimo.setStatus(StatusEmprestimo.ATIVO);
         
-        // Atualiza o status do livro
-        livro.setDisponivel(false);
-        livroRepository.save(livro);
-        
-        // Salva e retorna o empréstimo
-        return emprestimoRepository.save(emprestimo);
+        // Salva o empréstimo e atualiza os contadores da categoria na mesma transação
+        emprestimo = emprestimoRepository.save(emprestimo);
+        estatisticaService.registrar(livro, AjusteEstatistica.emprestimo());
+        emprestimosRealizados.increment();
+        return emprestimo;
     }
 
     @Override
+    @Transactional
     public Emprestimo realizarDevolucao(Long emprestimoId) {
-        // Busca o empréstimo
-        Emprestimo emprestimo = findById(emprestimoId);
+        // O bloqueio da linha faz devoluções simultâneas do mesmo empréstimo
+        // esperarem umas pelas outras, e a segunda encontra o status já baixado
+        Emprestimo emprestimo = emprestimoRepository.bloquearPorIds(List.of(emprestimoId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Empréstimo não encontrado com o ID: " + emprestimoId));
+        if (emprestimo.getStatus() == StatusEmprestimo.DEVOLVIDO) {
+            throw new ConflictException("Este empréstimo já foi devolvido");
+        }
+        
+        Map<Long, AjusteEstatistica> ajustes = new HashMap<>();
+        devolver(emprestimo, LocalDate.now(), ajustes);
+        estatisticaService.registrar(ajustes);
+        return emprestimo;
+    }
+
+    @Override
+    @Transactional
+    public List<ResultadoLote> realizarEmprestimos(Long usuarioId, List<Long> livroIds, int diasParaDevolucao) {
+        validarLote(livroIds);
+        validarPrazo(diasParaDevolucao);
+        
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new NotFoundException("Usuário não encontrado com o ID: " + usuarioId));
+        
+        // Uma única consulta IN carrega e bloqueia todos os livros do lote
+        Map<Long, Livro> livros = livroRepository.bloquearPorIds(livroIds).stream()
+                .collect(Collectors.toMap(Livro::getId, Function.identity()));
+        
+        LocalDate hoje = LocalDate.now();
+        List<ResultadoLote> resultados = new ArrayList<>(livroIds.size());
+        List<Emprestimo> novos = new ArrayList<>(livroIds.size());
+        Set<Long> processados = new HashSet<>();
+        Map<Long, AjusteEstatistica> ajustes = new HashMap<>();
+        
+        for (Long livroId : livroIds) {
+            Livro livro = livros.get(livroId);
+            if (!processados.add(livroId)) {
+                resultados.add(ResultadoLote.falha(livroId, "Livro repetido no lote"));
+            } else if (livro == null) {
+                resultados.add(ResultadoLote.falha(livroId, "Livro não encontrado com o ID: " + livroId));
+            } else if (livro.getDisponivel() == null || !livro.getDisponivel()) {
+                resultados.add(ResultadoLote.falha(livroId, "O livro não está disponível para empréstimo"));
+            } else {
+                livro.setDisponivel(false);
+                livrosCache.evict(livroId);
+                contadorService.registrar(ContadorAlteracaoService.LIVROS);
+                
+                Emprestimo emprestimo = new Emprestimo();
+                emprestimo.setUsuario(usuario);
+                emprestimo.setLivro(livro);
+                emprestimo.setDataEmprestimo(hoje);
+                emprestimo.setDataPrevistaDevolucao(hoje.plusDays(diasParaDevolucao));
+                emprestimo.setStatus(StatusEmprestimo.ATIVO);
+                novos.add(emprestimo);
+                AjusteEstatistica.acumular(ajustes, livro, AjusteEstatistica.emprestimo());
+                resultados.add(ResultadoLote.sucesso(livroId, emprestimo));
+            }
+        }
+        
+        // Inserts e updates são enviados em lotes JDBC no flush
+        emprestimoRepository.saveAll(novos);
+        estatisticaService.registrar(ajustes);
+        emprestimosRealizados.increment(novos.size());
+        return resultados;
+    }
+
+    @Override
+    @Transactional
+    public List<ResultadoLote> realizarDevolucoes(List<Long> emprestimoIds) {
+        validarLote(emprestimoIds);
+        
+        // Uma única consulta IN carrega e bloqueia os empréstimos e seus livros
+        Map<Long, Emprestimo> emprestimos = emprestimoRepository.bloquearPorIds(emprestimoIds).stream()
+                .collect(Collectors.toMap(Emprestimo::getId, Function.identity()));
+        
+        LocalDate hoje = LocalDate.now();
+        List<ResultadoLote> resultados = new ArrayList<>(emprestimoIds.size());
+        Map<Long, AjusteEstatistica> ajustes = new HashMap<>();
         
-        // Verifica se o empréstimo já foi devolvido
-        if ("DEVOLVIDO".equals(emprestimo.getStatus())) {
-            throw new BusinessException("Este empréstimo já foi devolvido");
+        for (Long emprestimoId : emprestimoIds) {
+            Emprestimo emprestimo = emprestimos.get(emprestimoId);
+            if (emprestimo == null) {
+                resultados.add(ResultadoLote.falha(emprestimoId, "Empréstimo não encontrado com o ID: " + emprestimoId));
+            } else if (emprestimo.getStatus() == StatusEmprestimo.DEVOLVIDO) {
+                resultados.add(ResultadoLote.falha(emprestimoId, "Este empréstimo já foi devolvido"));
+            } else {
+                devolver(emprestimo, hoje, ajustes);
+                resultados.add(ResultadoLote.sucesso(emprestimoId, emprestimo));
+            }
         }
         
-        // Atualiza o empréstimo
-        emprestimo.setDataRealDevolucao(LocalDate.now());
-        emprestimo.setStatus("DEVOLVIDO");
+        // As alterações são gravadas pelo dirty checking, em lotes JDBC
+        estatisticaService.registrar(ajustes);
+        return resultados;
+    }
+
+    // Baixa um empréstimo já bloqueado, libera o livro e acumula o ajuste das estatísticas
+    private void devolver(Emprestimo emprestimo, LocalDate hoje, Map<Long, AjusteEstatistica> ajustes) {
+        boolean atrasado = emprestimo.getStatus() == StatusEmprestimo.ATRASADO;
+        emprestimo.setDataRealDevolucao(hoje);
+        emprestimo.setStatus(StatusEmprestimo.DEVOLVIDO);
         
-        // Atualiza o status do livro
         Livro livro = emprestimo.getLivro();
+        boolean liberaLivro = !Boolean.TRUE.equals(livro.getDisponivel());
         livro.setDisponivel(true);
-        livroRepository.save(livro);
-        
-        // Salva e retorna o empréstimo
-        return emprestimoRepository.save(emprestimo);
+        livrosCache.evict(livro.getId());
+        contadorService.registrar(ContadorAlteracaoService.LIVROS);
+        AjusteEstatistica.acumular(ajustes, livro, AjusteEstatistica.devolucao(liberaLivro, atrasado));
+        devolucoesRealizadas.increment();
+    }
+
+    private static StatusEmprestimo converterStatus(String status) {
+        try {
+            return StatusEmprestimo.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Status inválido. Valores aceitos: " + Arrays.toString(StatusEmprestimo.values()) + ".");
+        }
+    }
+
+    // A varredura de atrasos avança um marco por data prevista: um empréstimo
+    // criado com a previsão já atrás do marco nunca seria marcado como atrasado
+    private static void validarPrazo(int diasParaDevolucao) {
+        if (diasParaDevolucao < 1) {
+            throw new BusinessException("O prazo de devolução deve ser de ao menos 1 dia.");
+        }
+    }
+
+    // Pelo mesmo motivo, um empréstimo criado ou reativado pelo cadastro precisa
+    // ter a previsão depois de hoje, adiante de qualquer posição do marco
+    private static void validarPrevisao(Emprestimo emprestimo) {
+        if (emprestimo.getStatus() == null) {
+            throw new BusinessException("O status do empréstimo é obrigatório.");
+        }
+        LocalDate previsao = emprestimo.getDataPrevistaDevolucao();
+        if (emprestimo.getStatus() == StatusEmprestimo.ATIVO && (previsao == null || !previsao.isAfter(LocalDate.now()))) {
+            throw new BusinessException("Um empréstimo ativo deve ter a devolução prevista para depois de hoje.");
+        }
+    }
+
+    private void validarLote(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BusinessException("O lote deve conter ao menos um item.");
+        }
+        if (ids.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new BusinessException("O lote deve conter no máximo " + TAMANHO_MAXIMO_LOTE + " itens.");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.biblioteca.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.domain.model.EstatisticaCategoria;
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.repository.EmprestimoRepository;
+import com.biblioteca.domain.repository.EstatisticaCategoriaRepository;
+import com.biblioteca.domain.repository.InsercaoSeAusente;
+import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.service.AjusteEstatistica;
+import com.biblioteca.service.EstatisticaService;
+
+@Service
+public class EstatisticaServiceImpl implements EstatisticaService {
+
+    private final EstatisticaCategoriaRepository estatisticaRepository;
+    private final LivroRepository livroRepository;
+    private final EmprestimoRepository emprestimoRepository;
+    private final InsercaoSeAusente insercaoSeAusente;
+
+    public EstatisticaServiceImpl(EstatisticaCategoriaRepository estatisticaRepository,
+                                  LivroRepository livroRepository,
+                                  EmprestimoRepository emprestimoRepository,
+                                  InsercaoSeAusente insercaoSeAusente) {
+        this.estatisticaRepository = estatisticaRepository;
+        this.livroRepository = livroRepository;
+        this.emprestimoRepository = emprestimoRepository;
+        this.insercaoSeAusente = insercaoSeAusente;
+    }
+
+    @Transactional(readOnly = true)
+    public List<EstatisticaCategoria> listar() {
+        return this.estatisticaRepository.findAllByOrderByCategoriaId();
+    }
+
+    @Transactional
+    public void registrar(Livro livro, AjusteEstatistica ajuste) {
+        aplicar(AjusteEstatistica.categoriaDe(livro), ajuste);
+    }
+
+    @Transactional
+    public void registrar(Map<Long, AjusteEstatistica> ajustesPorCategoria) {
+        // Ordem fixa por categoria: lotes concorrentes bloqueiam as linhas na mesma sequência
+        new TreeMap<>(ajustesPorCategoria).forEach(this::aplicar);
+    }
+
+    private void aplicar(Long categoriaId, AjusteEstatistica ajuste) {
+        if (ajuste.isVazio()) {
+            return;
+        }
+        if (ajustar(categoriaId, ajuste) == 0) {
+            // Primeira movimentação da categoria: a linha é criada na própria
+            // transação, sem ocupar uma segunda conexão do pool
+            criarSeAusente(categoriaId);
+            ajustar(categoriaId, ajuste);
+        }
+    }
+
+    private int ajustar(Long categoriaId, AjusteEstatistica ajuste) {
+        return this.estatisticaRepository.ajustar(categoriaId, ajuste.total(), ajuste.disponiveis(),
+                ajuste.emprestados(), ajuste.atrasados());
+    }
+
+    @Transactional
+    public void reconciliar() {
+        // Bloquear as linhas antes de contar faz os ajustes concorrentes esperarem
+        // a reconciliação, ou serem vistos por ela se já tiverem sido confirmados
+        Map<Long, EstatisticaCategoria> estatisticas = new HashMap<>(this.estatisticaRepository.bloquearTodas().stream()
+                .collect(Collectors.toMap(EstatisticaCategoria::getCategoriaId, Function.identity())));
+        estatisticas.values().forEach(estatistica -> {
+            estatistica.setTotal(0);
+            estatistica.setDisponiveis(0);
+            estatistica.setEmprestados(0);
+            estatistica.setAtrasados(0);
+        });
+        
+        for (var contagem : this.livroRepository.contarPorCategoria()) {
+            EstatisticaCategoria estatistica = estatisticas.computeIfAbsent(chave(contagem.getCategoriaId()), this::carregar);
+            estatistica.setTotal(contagem.getTotal());
+            estatistica.setDisponiveis(contagem.getDisponiveis());
+        }
+        for (var contagem : this.emprestimoRepository.contarEmAbertoPorCategoria()) {
+            EstatisticaCategoria estatistica = estatisticas.computeIfAbsent(chave(contagem.getCategoriaId()), this::carregar);
+            estatistica.setEmprestados(contagem.getEmprestados());
+            estatistica.setAtrasados(contagem.getAtrasados());
+        }
+        
+        LocalDateTime agora = LocalDateTime.now();
+        estatisticas.values().forEach(estatistica -> estatistica.setDataReconciliacao(agora));
+    }
+
+    // Categoria sem linha quando a reconciliação começou: pode estar sendo criada
+    // agora por um ajuste concorrente, então a inserção não falha se ela já existir
+    private EstatisticaCategoria carregar(Long categoriaId) {
+        criarSeAusente(categoriaId);
+        return this.estatisticaRepository.bloquear(categoriaId).orElseThrow();
+    }
+
+    private void criarSeAusente(Long categoriaId) {
+        this.insercaoSeAusente.inserir("tb_estatistica_categoria", "categoria_id", Map.of("categoria_id", categoriaId,
+                "total", 0L, "disponiveis", 0L, "emprestados", 0L, "atrasados", 0L));
+    }
+
+    private static Long chave(Long categoriaId) {
+        return categoriaId != null ? categoriaId : EstatisticaCategoria.SEM_CATEGORIA;
+    }
+}
@@ -0,0 +1,113 @@
+package com.biblioteca.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.domain.model.RequisicaoIdempotente;
+import com.biblioteca.domain.repository.RequisicaoIdempotenteRepository;
+import com.biblioteca.service.IdempotenciaService;
+import com.biblioteca.service.ReservaIdempotencia;
+import com.biblioteca.service.RespostaArmazenada;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Reservas e respostas de {@code Idempotency-Key} em duas camadas: as respostas
+ * concluídas recentes ficam em memória, limitadas em quantidade e validade, e o
+ * banco guarda todas as reservas e respostas, vale entre instâncias e decide
+ * qual de duas requisições simultâneas com a mesma chave é executada.
+ */
+@Service
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+    private final RequisicaoIdempotenteRepository requisicaoRepository;
+    private final TransactionTemplate transacao;
+    private final Cache<String, RespostaArmazenada> concluidas;
+    private final Duration validade;
+    private final Duration prazoProcessamento;
+
+    public IdempotenciaServiceImpl(RequisicaoIdempotenteRepository requisicaoRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${biblioteca.idempotencia.validade:24h}") Duration validade,
+                                   @Value("${biblioteca.idempotencia.memoria:10000}") long memoria,
+                                   @Value("${biblioteca.idempotencia.prazo-processamento:1m}") Duration prazoProcessamento) {
+        this.requisicaoRepository = requisicaoRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.concluidas = Caffeine.newBuilder().maximumSize(memoria).expireAfterWrite(validade).build();
+        this.validade = validade;
+        this.prazoProcessamento = prazoProcessamento;
+    }
+
+    public ReservaIdempotencia reservar(String chave, String impressao) {
+        RespostaArmazenada emMemoria = this.concluidas.getIfPresent(chave);
+        if (emMemoria != null) {
+            return ReservaIdempotencia.de(emMemoria, impressao);
+        }
+        // Na segunda volta, a linha gravada pela requisição concorrente que
+        // venceu a inserção já está visível e é avaliada como qualquer outra
+        for (int tentativa = 0; tentativa < 2; tentativa++) {
+            LocalDateTime agora = LocalDateTime.now();
+            Optional<RequisicaoIdempotente> existente = this.transacao.execute(status ->
+                    this.requisicaoRepository.findById(chave));
+            if (existente.isPresent()) {
+                if (existente.get().getExpiraEm().isAfter(agora)) {
+                    return avaliar(existente.get(), impressao, agora);
+                }
+                this.transacao.executeWithoutResult(status -> this.requisicaoRepository.removerExpirada(chave, agora));
+            }
+            try {
+                UUID token = UUID.randomUUID();
+                this.transacao.executeWithoutResult(status ->
+                        this.requisicaoRepository.reservar(chave, impressao, token, agora, agora.plus(this.validade)));
+                return ReservaIdempotencia.nova(token);
+            } catch (DataIntegrityViolationException e) {
+                // Outra requisição com a mesma chave reservou primeiro
+            }
+        }
+        return ReservaIdempotencia.emAndamento();
+    }
+
+    public boolean concluir(String chave, UUID token, RespostaArmazenada resposta) {
+        Integer atualizadas = this.transacao.execute(status -> this.requisicaoRepository.concluir(chave, token,
+                resposta.status(), resposta.tipoConteudo(), resposta.corpo()));
+        if (atualizadas != 1) {
+            return false;
+        }
+        this.concluidas.put(chave, resposta);
+        return true;
+    }
+
+    public void liberar(String chave, UUID token) {
+        this.transacao.executeWithoutResult(status -> this.requisicaoRepository.liberar(chave, token));
+    }
+
+    public int removerExpiradas() {
+        return this.transacao.execute(status -> this.requisicaoRepository.removerExpiradas(LocalDateTime.now()));
+    }
+
+    private ReservaIdempotencia avaliar(RequisicaoIdempotente requisicao, String impressao, LocalDateTime agora) {
+        if (requisicao.getStatus() != null) {
+            var resposta = new RespostaArmazenada(requisicao.getImpressao(), requisicao.getStatus(),
+                    requisicao.getTipoConteudo(), requisicao.getCorpo());
+            this.concluidas.put(requisicao.getChave(), resposta);
+            return ReservaIdempotencia.de(resposta, impressao);
+        }
+        if (!requisicao.getImpressao().equals(impressao)) {
+            return ReservaIdempotencia.divergente();
+        }
+        // Reserva sem resposta além do prazo: a instância que a fez não chegou a
+        // concluir nem liberar, e a repetição assume a execução
+        UUID token = UUID.randomUUID();
+        Integer retomadas = this.transacao.execute(status -> this.requisicaoRepository.retomar(requisicao.getChave(),
+                token, agora, agora.minus(this.prazoProcessamento)));
+        return retomadas == 1 ? ReservaIdempotencia.nova(token) : ReservaIdempotencia.emAndamento();
+    }
+}
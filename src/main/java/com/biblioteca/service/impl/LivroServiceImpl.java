@@ -1,13 +1,39 @@
 package com.biblioteca.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+
+import com.biblioteca.config.CacheConfig;
+import com.biblioteca.domain.model.Identificavel;
 import com.biblioteca.domain.model.Livro;
 import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.service.AjusteEstatistica;
+import com.biblioteca.service.ContadorAlteracaoService;
+import com.biblioteca.service.Cursor;
+import com.biblioteca.service.ErroImportacao;
+import com.biblioteca.service.EstatisticaService;
+import com.biblioteca.service.ItemImportacao;
 import com.biblioteca.service.LivroService;
+import com.biblioteca.service.Pagina;
+import com.biblioteca.service.busca.CatalogoIndex;
+import com.biblioteca.service.event.LivroAlteradoEvent;
 import com.biblioteca.service.exception.BusinessException;
 import com.biblioteca.service.exception.NotFoundException;
 
@@ -17,21 +43,44 @@ import static java.util.Optional.ofNullable;
 public class LivroServiceImpl implements LivroService {
 
     private final LivroRepository livroRepository;
-
-    public LivroServiceImpl(LivroRepository livroRepository) {
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogoIndex catalogoIndex;
+    private final EstatisticaService estatisticaService;
+    private final ContadorAlteracaoService contadorService;
+
+    public LivroServiceImpl(LivroRepository livroRepository, EntityManager entityManager,
+            ApplicationEventPublisher eventPublisher, CatalogoIndex catalogoIndex,
+            EstatisticaService estatisticaService, ContadorAlteracaoService contadorService) {
         this.livroRepository = livroRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.catalogoIndex = catalogoIndex;
+        this.estatisticaService = estatisticaService;
+        this.contadorService = contadorService;
     }
 
     @Transactional(readOnly = true)
-    public List<Livro> findAll() {
-        return this.livroRepository.findAll();
+    public Pagina<Livro> findAll(String cursor, int tamanho) {
+        return this.findAll(cursor, tamanho, Livro.class);
     }
 
     @Transactional(readOnly = true)
+    public <T extends Identificavel> Pagina<T> findAll(String cursor, int tamanho, Class<T> tipo) {
+        var livros = this.livroRepository.findByIdGreaterThan(Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(livros, tamanho, Identificavel::getId);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.LIVROS, key = "#id")
     public Livro findById(Long id) {
         return this.livroRepository.findById(id).orElseThrow(() -> new NotFoundException("Livro não encontrado."));
     }
 
+    public long versaoColecao() {
+        return this.contadorService.versao(ContadorAlteracaoService.LIVROS);
+    }
+
     @Transactional
     public Livro create(Livro livroToCreate) {
         ofNullable(livroToCreate).orElseThrow(() -> new BusinessException("Livro não pode ser nulo."));
@@ -44,10 +93,15 @@ public class LivroServiceImpl implements LivroService {
             throw new BusinessException("Já existe um livro com este ISBN.");
         }
         
-        return this.livroRepository.save(livroToCreate);
+        Livro livro = this.livroRepository.save(livroToCreate);
+        this.estatisticaService.registrar(livro, AjusteEstatistica.inclusao(livro));
+        this.contadorService.registrar(ContadorAlteracaoService.LIVROS);
+        this.eventPublisher.publishEvent(LivroAlteradoEvent.salvo(livro));
+        return livro;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.LIVROS, key = "#id")
     public Livro update(Long id, Livro livroToUpdate) {
         ofNullable(livroToUpdate).orElseThrow(() -> new BusinessException("Livro não pode ser nulo."));
         
@@ -57,38 +111,132 @@ public class LivroServiceImpl implements LivroService {
             throw new BusinessException("Já existe um livro com este ISBN.");
         }
         
+        // Calculado antes do save, que copia o novo estado sobre a entidade gerenciada
+        Map<Long, AjusteEstatistica> ajustes = new HashMap<>();
+        AjusteEstatistica.acumular(ajustes, livroExistente, AjusteEstatistica.exclusao(livroExistente));
+        
+        // A versão lida acima faz o save falhar se outra transação alterar o livro antes do commit
         livroToUpdate.setId(id);
-        return this.livroRepository.save(livroToUpdate);
+        livroToUpdate.setVersao(livroExistente.getVersao());
+        Livro livro = this.livroRepository.save(livroToUpdate);
+        AjusteEstatistica.acumular(ajustes, livro, AjusteEstatistica.inclusao(livro));
+        this.estatisticaService.registrar(ajustes);
+        this.contadorService.registrar(ContadorAlteracaoService.LIVROS);
+        this.eventPublisher.publishEvent(LivroAlteradoEvent.salvo(livro));
+        return livro;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.LIVROS, key = "#id")
     public void delete(Long id) {
         Livro livroExistente = this.findById(id);
         this.livroRepository.delete(livroExistente);
+        this.estatisticaService.registrar(livroExistente, AjusteEstatistica.exclusao(livroExistente));
+        this.contadorService.registrar(ContadorAlteracaoService.LIVROS);
+        this.eventPublisher.publishEvent(LivroAlteradoEvent.removido(id));
+    }
+
+    @Transactional(readOnly = true)
+    public <T extends Identificavel> Pagina<T> buscarPorTitulo(String titulo, String cursor, int tamanho, Class<T> tipo) {
+        var livros = this.livroRepository.findByTituloContainingIgnoreCaseAndIdGreaterThan(titulo, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(livros, tamanho, Identificavel::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public <T extends Identificavel> Pagina<T> buscarPorAutor(String autor, String cursor, int tamanho, Class<T> tipo) {
+        var livros = this.livroRepository.findByAutorContainingIgnoreCaseAndIdGreaterThan(autor, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(livros, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Livro> buscarPorTitulo(String titulo) {
-        return this.livroRepository.findByTituloContainingIgnoreCase(titulo);
+    public <T extends Identificavel> Pagina<T> buscarPorCategoria(Long categoriaId, String cursor, int tamanho, Class<T> tipo) {
+        var livros = this.livroRepository.findByCategoriaIdAndIdGreaterThan(categoriaId, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(livros, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Livro> buscarPorAutor(String autor) {
-        return this.livroRepository.findByAutorContainingIgnoreCase(autor);
+    public <T extends Identificavel> Pagina<T> buscarDisponiveis(String cursor, int tamanho, Class<T> tipo) {
+        var livros = this.livroRepository.findByDisponivelAndIdGreaterThan(true, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(livros, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Livro> buscarPorCategoria(Long categoriaId) {
-        return this.livroRepository.findByCategoriaId(categoriaId);
+    public <T extends Identificavel> Pagina<T> buscarIndisponiveis(String cursor, int tamanho, Class<T> tipo) {
+        var livros = this.livroRepository.findByDisponivelAndIdGreaterThan(false, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(livros, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Livro> buscarDisponiveis() {
-        return this.livroRepository.findByDisponivel(true);
+    public Pagina<Livro> pesquisar(String texto, String cursor, int tamanho) {
+        Cursor.tamanhoValido(tamanho);
+        Cursor.PosicaoBusca posicao = Cursor.decodificarBusca(cursor);
+        var acertos = posicao == null
+                ? this.catalogoIndex.buscar(texto, null, null, tamanho + 1)
+                : this.catalogoIndex.buscar(texto, posicao.score(), posicao.id(), tamanho + 1);
+        
+        // O índice define a ordem; o banco fornece os registros atuais em uma única consulta
+        List<CatalogoIndex.Acerto> pagina = acertos.size() > tamanho ? acertos.subList(0, tamanho) : acertos;
+        Map<Long, Livro> livros = this.livroRepository.findAllById(pagina.stream().map(CatalogoIndex.Acerto::livroId).toList())
+                .stream()
+                .collect(Collectors.toMap(Livro::getId, Function.identity()));
+        List<Livro> itens = pagina.stream()
+                .map(acerto -> livros.get(acerto.livroId()))
+                .filter(Objects::nonNull)
+                .toList();
+        
+        if (acertos.size() <= tamanho) {
+            return new Pagina<>(itens, null);
+        }
+        CatalogoIndex.Acerto ultimo = pagina.get(tamanho - 1);
+        return new Pagina<>(itens, Cursor.codificarBusca(ultimo.score(), ultimo.livroId()));
     }
 
     @Transactional(readOnly = true)
-    public List<Livro> buscarIndisponiveis() {
-        return this.livroRepository.findByDisponivel(false);
+    public void exportar(Consumer<Livro> consumidor) {
+        try (Stream<Livro> livros = this.livroRepository.streamAll()) {
+            // Desanexa cada entidade após o uso para manter o contexto de persistência vazio
+            livros.forEach(livro -> {
+                consumidor.accept(livro);
+                this.entityManager.detach(livro);
+            });
+        }
+    }
+
+    @Transactional
+    public List<ErroImportacao> importar(List<ItemImportacao<Livro>> lote) {
+        // Uma única consulta por lote descobre quais ISBNs já estão cadastrados
+        Set<String> isbns = lote.stream()
+                .map(item -> item.item().getIsbn())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existentes = isbns.isEmpty() ? Set.of() : this.livroRepository.findIsbnsExistentes(isbns);
+        
+        List<ErroImportacao> erros = new ArrayList<>();
+        List<Livro> validos = new ArrayList<>(lote.size());
+        Set<String> vistos = new HashSet<>();
+        
+        for (ItemImportacao<Livro> item : lote) {
+            Livro livro = item.item();
+            if (livro.getId() != null) {
+                erros.add(new ErroImportacao(item.linha(), "ID do livro deve ser nulo para criação."));
+            } else if (livro.getTitulo() == null || livro.getAutor() == null || livro.getIsbn() == null) {
+                erros.add(new ErroImportacao(item.linha(), "Título, autor e ISBN são obrigatórios."));
+            } else if (existentes.contains(livro.getIsbn()) || !vistos.add(livro.getIsbn())) {
+                erros.add(new ErroImportacao(item.linha(), "Já existe um livro com este ISBN."));
+            } else {
+                validos.add(livro);
+            }
+        }
+        
+        Map<Long, AjusteEstatistica> ajustes = new HashMap<>();
+        for (Livro livro : this.livroRepository.saveAll(validos)) {
+            AjusteEstatistica.acumular(ajustes, livro, AjusteEstatistica.inclusao(livro));
+            this.eventPublisher.publishEvent(LivroAlteradoEvent.salvo(livro));
+        }
+        this.estatisticaService.registrar(ajustes);
+        if (!validos.isEmpty()) {
+            this.contadorService.registrar(ContadorAlteracaoService.LIVROS);
+        }
+        return erros;
     }
 }
\ No newline at end of file
@@ -2,13 +2,31 @@ package com.biblioteca.service.impl;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+
+import com.biblioteca.config.CacheConfig;
+import com.biblioteca.domain.model.Identificavel;
 import com.biblioteca.domain.model.Produto;
 import com.biblioteca.domain.repository.ProdutoRepository;
+import com.biblioteca.service.ContadorAlteracaoService;
+import com.biblioteca.service.Cursor;
+import com.biblioteca.service.ErroImportacao;
+import com.biblioteca.service.ItemImportacao;
+import com.biblioteca.service.Pagina;
 import com.biblioteca.service.ProdutoService;
 import com.biblioteca.service.exception.BusinessException;
 import com.biblioteca.service.exception.NotFoundException;
@@ -19,21 +37,37 @@ import static java.util.Optional.ofNullable;
 public class ProdutoServiceImpl implements ProdutoService {
 
     private final ProdutoRepository produtoRepository;
+    private final EntityManager entityManager;
+    private final ContadorAlteracaoService contadorService;
 
-    public ProdutoServiceImpl(ProdutoRepository produtoRepository) {
+    public ProdutoServiceImpl(ProdutoRepository produtoRepository, EntityManager entityManager,
+            ContadorAlteracaoService contadorService) {
         this.produtoRepository = produtoRepository;
+        this.entityManager = entityManager;
+        this.contadorService = contadorService;
+    }
+
+    @Transactional(readOnly = true)
+    public Pagina<Produto> findAll(String cursor, int tamanho) {
+        return this.findAll(cursor, tamanho, Produto.class);
     }
 
     @Transactional(readOnly = true)
-    public List<Produto> findAll() {
-        return this.produtoRepository.findAll();
+    public <T extends Identificavel> Pagina<T> findAll(String cursor, int tamanho, Class<T> tipo) {
+        var produtos = this.produtoRepository.findByIdGreaterThan(Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(produtos, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS, key = "#id")
     public Produto findById(Long id) {
         return this.produtoRepository.findById(id).orElseThrow(() -> new NotFoundException("Produto não encontrado."));
     }
 
+    public long versaoColecao() {
+        return this.contadorService.versao(ContadorAlteracaoService.PRODUTOS);
+    }
+
     @Transactional
     public Produto create(Produto produtoToCreate) {
         ofNullable(produtoToCreate).orElseThrow(() -> new BusinessException("Produto não pode ser nulo."));
@@ -51,10 +85,12 @@ public class ProdutoServiceImpl implements ProdutoService {
             produtoToCreate.setDataCadastro(LocalDateTime.now());
         }
         
+        this.contadorService.registrar(ContadorAlteracaoService.PRODUTOS);
         return this.produtoRepository.save(produtoToCreate);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#id")
     public Produto update(Long id, Produto produtoToUpdate) {
         ofNullable(produtoToUpdate).orElseThrow(() -> new BusinessException("Produto não pode ser nulo."));
         
@@ -68,48 +104,109 @@ public class ProdutoServiceImpl implements ProdutoService {
         
         // Mantém a data de cadastro original
         produtoToUpdate.setDataCadastro(produtoExistente.getDataCadastro());
+        // A versão lida acima faz o save falhar se outra transação alterar o produto antes do commit
         produtoToUpdate.setId(id);
+        produtoToUpdate.setVersao(produtoExistente.getVersao());
+        this.contadorService.registrar(ContadorAlteracaoService.PRODUTOS);
         return this.produtoRepository.save(produtoToUpdate);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#id")
     public void delete(Long id) {
         Produto produtoExistente = this.findById(id);
         this.produtoRepository.delete(produtoExistente);
+        this.contadorService.registrar(ContadorAlteracaoService.PRODUTOS);
+    }
+
+    @Transactional(readOnly = true)
+    public <T extends Identificavel> Pagina<T> buscarPorNome(String nome, String cursor, int tamanho, Class<T> tipo) {
+        var produtos = this.produtoRepository.findByNomeContainingIgnoreCaseAndIdGreaterThan(nome, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(produtos, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Produto> buscarPorNome(String nome) {
-        return this.produtoRepository.findByNomeContainingIgnoreCase(nome);
+    public <T extends Identificavel> Pagina<T> buscarPorCategoria(Long categoriaId, String cursor, int tamanho, Class<T> tipo) {
+        var produtos = this.produtoRepository.findByCategoriaIdAndIdGreaterThan(categoriaId, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(produtos, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Produto> buscarPorCategoria(Long categoriaId) {
-        return this.produtoRepository.findByCategoriaId(categoriaId);
+    public <T extends Identificavel> Pagina<T> buscarAtivos(String cursor, int tamanho, Class<T> tipo) {
+        var produtos = this.produtoRepository.findByAtivoAndIdGreaterThan(true, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(produtos, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Produto> buscarAtivos() {
-        return this.produtoRepository.findByAtivo(true);
+    public <T extends Identificavel> Pagina<T> buscarInativos(String cursor, int tamanho, Class<T> tipo) {
+        var produtos = this.produtoRepository.findByAtivoAndIdGreaterThan(false, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(produtos, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Produto> buscarInativos() {
-        return this.produtoRepository.findByAtivo(false);
+    public <T extends Identificavel> Pagina<T> buscarPorPrecoMaximo(BigDecimal precoMaximo, String cursor, int tamanho, Class<T> tipo) {
+        var produtos = this.produtoRepository.findByPrecoLessThanEqualAndIdGreaterThan(precoMaximo, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(produtos, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Produto> buscarPorPrecoMaximo(BigDecimal precoMaximo) {
-        return this.produtoRepository.findByPrecoLessThanEqual(precoMaximo);
+    public <T extends Identificavel> Pagina<T> buscarPorPrecoMinimo(BigDecimal precoMinimo, String cursor, int tamanho, Class<T> tipo) {
+        var produtos = this.produtoRepository.findByPrecoGreaterThanEqualAndIdGreaterThan(precoMinimo, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(produtos, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Produto> buscarPorPrecoMinimo(BigDecimal precoMinimo) {
-        return this.produtoRepository.findByPrecoGreaterThanEqual(precoMinimo);
+    public <T extends Identificavel> Pagina<T> buscarEmEstoque(String cursor, int tamanho, Class<T> tipo) {
+        var produtos = this.produtoRepository.findByQuantidadeEstoqueGreaterThanAndIdGreaterThan(0, Cursor.decodificar(cursor), Cursor.limite(tamanho), tipo);
+        return Pagina.of(produtos, tamanho, Identificavel::getId);
     }
 
     @Transactional(readOnly = true)
-    public List<Produto> buscarEmEstoque() {
-        return this.produtoRepository.findByQuantidadeEstoqueGreaterThan(0);
+    public void exportar(Consumer<Produto> consumidor) {
+        try (Stream<Produto> produtos = this.produtoRepository.streamAll()) {
+            // Desanexa cada entidade após o uso para manter o contexto de persistência vazio
+            produtos.forEach(produto -> {
+                consumidor.accept(produto);
+                this.entityManager.detach(produto);
+            });
+        }
+    }
+
+    @Transactional
+    public List<ErroImportacao> importar(List<ItemImportacao<Produto>> lote) {
+        // Uma única consulta por lote descobre quais códigos de barras já estão cadastrados
+        Set<String> codigos = lote.stream()
+                .map(item -> item.item().getCodigoBarras())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existentes = codigos.isEmpty() ? Set.of() : this.produtoRepository.findCodigosBarrasExistentes(codigos);
+        
+        List<ErroImportacao> erros = new ArrayList<>();
+        List<Produto> validos = new ArrayList<>(lote.size());
+        Set<String> vistos = new HashSet<>();
+        LocalDateTime agora = LocalDateTime.now();
+        
+        for (ItemImportacao<Produto> item : lote) {
+            Produto produto = item.item();
+            String codigoBarras = produto.getCodigoBarras();
+            if (produto.getId() != null) {
+                erros.add(new ErroImportacao(item.linha(), "ID do produto deve ser nulo para criação."));
+            } else if (produto.getNome() == null || produto.getPreco() == null) {
+                erros.add(new ErroImportacao(item.linha(), "Nome e preço são obrigatórios."));
+            } else if (codigoBarras != null && (existentes.contains(codigoBarras) || !vistos.add(codigoBarras))) {
+                erros.add(new ErroImportacao(item.linha(), "Já existe um produto com este código de barras."));
+            } else {
+                if (produto.getDataCadastro() == null) {
+                    produto.setDataCadastro(agora);
+                }
+                validos.add(produto);
+            }
+        }
+        
+        this.produtoRepository.saveAll(validos);
+        if (!validos.isEmpty()) {
+            this.contadorService.registrar(ContadorAlteracaoService.PRODUTOS);
+        }
+        return erros;
     }
 }
\ No newline at end of file
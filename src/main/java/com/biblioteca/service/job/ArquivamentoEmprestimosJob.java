@@ -0,0 +1,56 @@
+package com.biblioteca.service.job;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.service.EmprestimoService;
+
+/**
+ * Move para o arquivo histórico os empréstimos devolvidos há mais de
+ * {@code biblioteca.arquivamento.dias} dias, em lotes com uma pausa entre eles
+ * para não competir com o tráfego da aplicação.
+ */
+@Component
+public class ArquivamentoEmprestimosJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivamentoEmprestimosJob.class);
+
+    private final EmprestimoService emprestimoService;
+    private final int dias;
+    private final int tamanhoLote;
+    private final long pausaMs;
+
+    public ArquivamentoEmprestimosJob(EmprestimoService emprestimoService,
+                                      @Value("${biblioteca.arquivamento.dias:180}") int dias,
+                                      @Value("${biblioteca.arquivamento.tamanho-lote:1000}") int tamanhoLote,
+                                      @Value("${biblioteca.arquivamento.pausa-ms:100}") long pausaMs) {
+        this.emprestimoService = emprestimoService;
+        this.dias = dias;
+        this.tamanhoLote = tamanhoLote;
+        this.pausaMs = pausaMs;
+    }
+
+    @Scheduled(cron = "${biblioteca.arquivamento.cron:0 0 2 * * *}")
+    public void executar() throws InterruptedException {
+        LocalDate limite = LocalDate.now().minusDays(dias);
+        long inicio = System.nanoTime();
+        long total = 0;
+        int movidos;
+        do {
+            movidos = emprestimoService.arquivarDevolvidos(limite, tamanhoLote);
+            total += movidos;
+            if (movidos == tamanhoLote) {
+                Thread.sleep(pausaMs);
+            }
+        } while (movidos == tamanhoLote);
+        
+        if (total > 0) {
+            logger.info("{} empréstimos arquivados em {} ms", total, (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+}
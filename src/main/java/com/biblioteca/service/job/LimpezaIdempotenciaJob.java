@@ -0,0 +1,33 @@
+package com.biblioteca.service.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.service.IdempotenciaService;
+
+/**
+ * Apaga as respostas de {@code Idempotency-Key} cuja validade terminou. As
+ * chaves vencidas já são ignoradas nas consultas; a limpeza só mantém a tabela
+ * do tamanho do tráfego do período de validade.
+ */
+@Component
+public class LimpezaIdempotenciaJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimpezaIdempotenciaJob.class);
+
+    private final IdempotenciaService idempotenciaService;
+
+    public LimpezaIdempotenciaJob(IdempotenciaService idempotenciaService) {
+        this.idempotenciaService = idempotenciaService;
+    }
+
+    @Scheduled(cron = "${biblioteca.idempotencia.limpeza:0 15 * * * *}")
+    public void executar() {
+        int removidas = idempotenciaService.removerExpiradas();
+        if (removidas > 0) {
+            logger.info("{} respostas idempotentes expiradas removidas", removidas);
+        }
+    }
+}
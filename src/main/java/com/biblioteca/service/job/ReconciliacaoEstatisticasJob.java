@@ -0,0 +1,33 @@
+package com.biblioteca.service.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.service.EstatisticaService;
+
+/**
+ * Recalcula as estatísticas por categoria uma vez por dia, corrigindo desvios
+ * causados por alterações feitas fora dos serviços. Não roda na inicialização:
+ * a recontagem percorre livros e empréstimos inteiros e bloqueia as linhas de
+ * estatística, o que não deve coincidir com o início do atendimento.
+ */
+@Component
+public class ReconciliacaoEstatisticasJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliacaoEstatisticasJob.class);
+
+    private final EstatisticaService estatisticaService;
+
+    public ReconciliacaoEstatisticasJob(EstatisticaService estatisticaService) {
+        this.estatisticaService = estatisticaService;
+    }
+
+    @Scheduled(cron = "${biblioteca.estatisticas.reconciliacao:0 0 3 * * *}")
+    public void executar() {
+        long inicio = System.nanoTime();
+        estatisticaService.reconciliar();
+        logger.info("Estatísticas por categoria reconciliadas em {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
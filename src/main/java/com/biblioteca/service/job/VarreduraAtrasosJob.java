@@ -0,0 +1,42 @@
+package com.biblioteca.service.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.service.EmprestimoService;
+
+/**
+ * Marca periodicamente os empréstimos vencidos como ATRASADO, em lotes de
+ * tamanho limitado, cada um na sua transação.
+ */
+@Component
+public class VarreduraAtrasosJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(VarreduraAtrasosJob.class);
+
+    private final EmprestimoService emprestimoService;
+    private final int tamanhoLote;
+
+    public VarreduraAtrasosJob(EmprestimoService emprestimoService,
+                               @Value("${biblioteca.atrasos.tamanho-lote:500}") int tamanhoLote) {
+        this.emprestimoService = emprestimoService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(fixedDelayString = "${biblioteca.atrasos.intervalo:PT5M}")
+    public void executar() {
+        int total = 0;
+        int marcados;
+        do {
+            marcados = emprestimoService.marcarAtrasados(tamanhoLote);
+            total += marcados;
+        } while (marcados == tamanhoLote);
+        
+        if (total > 0) {
+            logger.info("{} empréstimos marcados como atrasados", total);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Alterações de livros, em ordem de gravação: cada instância lê esta tabela
+-- para manter seu índice de busca em sincronia com as escritas de todas as
+-- instâncias, inclusive remoções. A identidade é gerada pelo banco no INSERT,
+-- e não em blocos reservados por instância, para seguir a ordem das gravações.
+create table tb_alteracao_livro (
+    id bigint generated by default as identity primary key,
+    livro_id bigint not null,
+    data_alteracao timestamp(6) not null
+);
+
+create index idx_alteracao_livro_data_alteracao on tb_alteracao_livro (data_alteracao);
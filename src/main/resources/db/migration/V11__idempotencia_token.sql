@@ -0,0 +1,3 @@
+-- Token da reserva de uma Idempotency-Key, trocado quando uma reserva
+-- abandonada é retomada: só quem tem o token atual conclui ou libera a chave.
+alter table tb_requisicao_idempotente add column token uuid;
@@ -0,0 +1,7 @@
+-- O contador de cada tabela passa a ser dividido em faixas: cada transação
+-- incrementa uma delas, escolhida ao acaso, e a versão da tabela é a soma.
+-- Escritas concorrentes deixam de disputar uma única linha no commit.
+
+alter table tb_contador_alteracao add column faixa integer not null default 0;
+alter table tb_contador_alteracao drop constraint tb_contador_alteracao_pkey;
+alter table tb_contador_alteracao add primary key (tabela, faixa);
@@ -0,0 +1,6 @@
+-- O histórico e as listagens de empréstimos por usuário e por livro percorrem a
+-- tabela em ordem de ID a partir do cursor. Os índices de V6 cobrem só os
+-- empréstimos em aberto; sem estes, cada página lê todas as devoluções do
+-- usuário ou do livro, o que os índices do arquivo (V7) já evitam lá.
+create index idx_emprestimo_usuario on tb_emprestimo (usuario_id, id);
+create index idx_emprestimo_livro on tb_emprestimo (livro_id, id);
@@ -0,0 +1,52 @@
+-- Esquema inicial (PostgreSQL), equivalente ao gerado pelo Hibernate antes das migrações.
+-- Bancos já existentes são marcados nesta versão pelo baseline do Flyway.
+
+create table tb_categoria (
+    id bigint generated by default as identity primary key,
+    nome varchar(255),
+    descricao varchar(255)
+);
+
+create table tb_livro (
+    id bigint generated by default as identity primary key,
+    titulo varchar(255) not null,
+    autor varchar(255) not null,
+    isbn varchar(255) not null unique,
+    data_publicacao date,
+    editora varchar(255),
+    sinopse varchar(2000),
+    numero_paginas integer,
+    disponivel boolean,
+    categoria_id bigint references tb_categoria (id)
+);
+
+create table tb_produto (
+    id bigint generated by default as identity primary key,
+    nome varchar(255) not null,
+    descricao varchar(2000),
+    preco numeric(38, 2) not null,
+    quantidade_estoque integer,
+    codigo_barras varchar(255),
+    data_cadastro timestamp(6),
+    ativo boolean,
+    categoria_id bigint references tb_categoria (id)
+);
+
+create table tb_usuario (
+    id bigint generated by default as identity primary key,
+    nome varchar(255) not null,
+    email varchar(255) not null unique,
+    cpf varchar(255) not null unique,
+    telefone varchar(255),
+    endereco varchar(255)
+);
+
+create table tb_emprestimo (
+    id bigint generated by default as identity primary key,
+    usuario_id bigint not null references tb_usuario (id),
+    livro_id bigint not null references tb_livro (id),
+    data_emprestimo date,
+    data_prevista_devolucao date,
+    data_real_devolucao date,
+    status varchar(255)
+);
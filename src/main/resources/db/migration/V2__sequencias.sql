@@ -0,0 +1,24 @@
+-- Troca as colunas IDENTITY por sequências com incremento 50 (otimizador pooled do
+-- Hibernate), o que permite ao Hibernate agrupar os inserts em lotes JDBC.
+-- O otimizador pooled trata o valor da sequência como o limite superior do bloco,
+-- por isso cada sequência começa em max(id) + 50.
+
+create sequence tb_categoria_seq increment by 50;
+select setval('tb_categoria_seq', coalesce((select max(id) from tb_categoria), 0) + 50, false);
+alter table tb_categoria alter column id drop identity if exists;
+
+create sequence tb_livro_seq increment by 50;
+select setval('tb_livro_seq', coalesce((select max(id) from tb_livro), 0) + 50, false);
+alter table tb_livro alter column id drop identity if exists;
+
+create sequence tb_produto_seq increment by 50;
+select setval('tb_produto_seq', coalesce((select max(id) from tb_produto), 0) + 50, false);
+alter table tb_produto alter column id drop identity if exists;
+
+create sequence tb_usuario_seq increment by 50;
+select setval('tb_usuario_seq', coalesce((select max(id) from tb_usuario), 0) + 50, false);
+alter table tb_usuario alter column id drop identity if exists;
+
+create sequence tb_emprestimo_seq increment by 50;
+select setval('tb_emprestimo_seq', coalesce((select max(id) from tb_emprestimo), 0) + 50, false);
+alter table tb_emprestimo alter column id drop identity if exists;
@@ -0,0 +1,13 @@
+-- Índices de trigramas (pg_trgm) para as buscas por trecho do nome.
+-- As consultas derivadas com ContainingIgnoreCase geram
+-- upper(nome) like upper('%termo%'), que uma B-tree comum não atende; o índice
+-- GIN sobre upper(nome) permite ao PostgreSQL localizar os candidatos pelos
+-- trigramas do termo em vez de percorrer a tabela inteira.
+-- Termos com menos de três caracteres não geram trigramas e continuam varrendo
+-- pela chave primária, parando ao completar a página.
+
+create extension if not exists pg_trgm;
+
+create index idx_produto_nome_trgm on tb_produto using gin (upper(nome) gin_trgm_ops);
+create index idx_categoria_nome_trgm on tb_categoria using gin (upper(nome) gin_trgm_ops);
+create index idx_usuario_nome_trgm on tb_usuario using gin (upper(nome) gin_trgm_ops);
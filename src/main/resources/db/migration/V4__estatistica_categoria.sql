@@ -0,0 +1,35 @@
+-- Contadores de livros por categoria (0 = livros sem categoria), mantidos pelas
+-- operações de cadastro, empréstimo e devolução e recalculados pela reconciliação.
+
+create table tb_estatistica_categoria (
+    categoria_id bigint primary key,
+    total bigint not null,
+    disponiveis bigint not null,
+    emprestados bigint not null,
+    atrasados bigint not null,
+    data_reconciliacao timestamp(6)
+);
+
+insert into tb_estatistica_categoria (categoria_id, total, disponiveis, emprestados, atrasados, data_reconciliacao)
+select coalesce(l.categoria_id, 0),
+       count(*),
+       count(*) filter (where l.disponivel),
+       0,
+       0,
+       localtimestamp
+from tb_livro l
+group by coalesce(l.categoria_id, 0);
+
+update tb_estatistica_categoria s
+set emprestados = c.emprestados,
+    atrasados = c.atrasados
+from (
+    select coalesce(l.categoria_id, 0) as categoria_id,
+           count(*) as emprestados,
+           count(*) filter (where e.data_prevista_devolucao < current_date) as atrasados
+    from tb_emprestimo e
+    join tb_livro l on l.id = e.livro_id
+    where e.status is null or e.status <> 'DEVOLVIDO'
+    group by coalesce(l.categoria_id, 0)
+) c
+where s.categoria_id = c.categoria_id;
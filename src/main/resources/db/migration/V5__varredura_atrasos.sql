@@ -0,0 +1,22 @@
+-- Relatório e varredura de atrasos: o índice composto (status, previsão) limita
+-- a leitura aos empréstimos em aberto e vencidos, independentemente do tamanho
+-- do histórico de devoluções.
+
+create index idx_emprestimo_status_previsao on tb_emprestimo (status, data_prevista_devolucao);
+
+create table tb_marco_processamento (
+    tarefa varchar(255) primary key,
+    ultima_data date,
+    ultimo_id bigint,
+    data_atualizacao timestamp(6)
+);
+
+-- Os atrasados passam a ser contados pelo status ATRASADO, atribuído pela
+-- varredura, que incrementa os contadores ao marcar cada empréstimo.
+update tb_estatistica_categoria s
+set atrasados = (
+    select count(*)
+    from tb_emprestimo e
+    join tb_livro l on l.id = e.livro_id
+    where e.status = 'ATRASADO' and coalesce(l.categoria_id, 0) = s.categoria_id
+);
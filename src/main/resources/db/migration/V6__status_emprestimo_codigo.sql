@@ -0,0 +1,30 @@
+-- O status do empréstimo passa de texto livre para um código smallint
+-- (1 = ATIVO, 2 = DEVOLVIDO, 3 = ATRASADO; ver StatusEmprestimo).
+-- Registros sem status ou com valores desconhecidos são classificados pela
+-- data real de devolução.
+
+alter table tb_emprestimo add column status_codigo smallint;
+
+update tb_emprestimo
+set status_codigo = case
+        when status = 'ATIVO' then 1
+        when status = 'DEVOLVIDO' then 2
+        when status = 'ATRASADO' then 3
+        when data_real_devolucao is not null then 2
+        else 1
+    end;
+
+alter table tb_emprestimo alter column status_codigo set not null;
+
+-- Remove também o índice idx_emprestimo_status_previsao, recriado abaixo como parcial
+alter table tb_emprestimo drop column status;
+alter table tb_emprestimo rename column status_codigo to status;
+
+-- Índices parciais: cobrem só os empréstimos em aberto (ativos e atrasados),
+-- que são uma fração pequena e estável da tabela, e não o histórico de devoluções.
+create index idx_emprestimo_status_previsao on tb_emprestimo (status, data_prevista_devolucao)
+    where status in (1, 3);
+create index idx_emprestimo_aberto_status_id on tb_emprestimo (status, id)
+    where status in (1, 3);
+create index idx_emprestimo_aberto_usuario on tb_emprestimo (usuario_id, status)
+    where status in (1, 3);
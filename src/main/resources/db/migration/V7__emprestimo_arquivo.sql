@@ -0,0 +1,18 @@
+-- Arquivo histórico dos empréstimos devolvidos há mais tempo que o prazo de
+-- arquivamento. A tabela de empréstimos fica apenas com os empréstimos em
+-- aberto e as devoluções recentes. Sem chaves estrangeiras: o histórico
+-- sobrevive à exclusão de livros e usuários.
+
+create table tb_emprestimo_arquivo (
+    id bigint primary key,
+    usuario_id bigint not null,
+    livro_id bigint not null,
+    data_emprestimo date,
+    data_prevista_devolucao date,
+    data_real_devolucao date,
+    status smallint not null,
+    data_arquivamento timestamp(6)
+);
+
+create index idx_emprestimo_arquivo_usuario on tb_emprestimo_arquivo (usuario_id, id);
+create index idx_emprestimo_arquivo_livro on tb_emprestimo_arquivo (livro_id, id);
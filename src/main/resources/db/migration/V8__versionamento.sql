@@ -0,0 +1,20 @@
+-- Versão e data da última alteração de livros, produtos e categorias. A versão
+-- é o controle de concorrência otimista do Hibernate e a ETag dos registros na API.
+
+alter table tb_livro add column versao bigint not null default 0;
+alter table tb_livro add column data_atualizacao timestamp(6);
+
+alter table tb_produto add column versao bigint not null default 0;
+alter table tb_produto add column data_atualizacao timestamp(6);
+
+alter table tb_categoria add column versao bigint not null default 0;
+alter table tb_categoria add column data_atualizacao timestamp(6);
+
+-- Versão das listagens: um contador por tabela, incrementado por cada
+-- transação que a altera.
+create table tb_contador_alteracao (
+    tabela varchar(255) primary key,
+    versao bigint not null
+);
+
+insert into tb_contador_alteracao (tabela, versao) values ('tb_livro', 0), ('tb_produto', 0);
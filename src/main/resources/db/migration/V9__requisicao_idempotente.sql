@@ -0,0 +1,13 @@
+-- Requisições com Idempotency-Key: a reserva da chave (status nulo enquanto a
+-- requisição é processada) e a resposta guardada para as repetições.
+create table tb_requisicao_idempotente (
+    chave varchar(255) primary key,
+    impressao varchar(64) not null,
+    status integer,
+    tipo_conteudo varchar(255),
+    corpo bytea,
+    criada_em timestamp(6) not null,
+    expira_em timestamp(6) not null
+);
+
+create index idx_requisicao_idempotente_expira_em on tb_requisicao_idempotente (expira_em);
@@ -0,0 +1,139 @@
+package com.biblioteca.config.idempotencia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.biblioteca.config.IdentificacaoCliente;
+import com.biblioteca.service.IdempotenciaService;
+import com.biblioteca.service.ReservaIdempotencia;
+import com.biblioteca.service.RespostaArmazenada;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+/**
+ * Leitura do corpo pelo filtro de {@code Idempotency-Key}: o limite de tamanho
+ * vale com e sem {@code Content-Length}, e o corpo relido pelo controller
+ * também pode ser consumido de forma assíncrona.
+ */
+class IdempotenciaFilterTest {
+
+    private static final int CORPO_MAXIMO = 1024;
+
+    private final Reservas reservas = new Reservas();
+
+    private final IdempotenciaFilter filtro = new IdempotenciaFilter(reservas,
+            new IdentificacaoCliente("X-Api-Key", Set.of()), CORPO_MAXIMO);
+
+    @Test
+    void corpoDeclaradoAcimaDoLimiteRecebe413SemExecutar() throws Exception {
+        var request = requisicao(new byte[CORPO_MAXIMO + 1]);
+        var response = new MockHttpServletResponse();
+        var execucoes = new AtomicInteger();
+
+        filtro.doFilter(request, response, (req, res) -> execucoes.incrementAndGet());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        assertThat(execucoes).hasValue(0);
+        assertThat(reservas.feitas).hasValue(0);
+    }
+
+    @Test
+    void corpoSemContentLengthAcimaDoLimiteRecebe413SemExecutar() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/emprestimos/lote") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader(IdempotenciaFilter.CABECALHO, "sem-tamanho");
+        request.setContent(new byte[CORPO_MAXIMO + 1]);
+        var response = new MockHttpServletResponse();
+        var execucoes = new AtomicInteger();
+
+        filtro.doFilter(request, response, (req, res) -> execucoes.incrementAndGet());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        assertThat(execucoes).hasValue(0);
+        assertThat(reservas.feitas).hasValue(0);
+    }
+
+    @Test
+    void corpoNoLimiteChegaInteiroAoLeitorAssincrono() throws Exception {
+        byte[] corpo = "a".repeat(CORPO_MAXIMO).getBytes(StandardCharsets.UTF_8);
+        var lido = new ByteArrayOutputStream();
+        var concluido = new AtomicInteger();
+        FilterChain chain = (req, res) -> {
+            ServletInputStream entrada = req.getInputStream();
+            entrada.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (entrada.isReady() && !entrada.isFinished()) {
+                        lido.write(entrada.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    concluido.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable erro) {
+                    throw new AssertionError(erro);
+                }
+            });
+        };
+
+        filtro.doFilter(requisicao(corpo), new MockHttpServletResponse(), chain);
+
+        assertThat(lido.toByteArray()).isEqualTo(corpo);
+        assertThat(concluido).hasValue(1);
+        assertThat(reservas.feitas).hasValue(1);
+    }
+
+    private static MockHttpServletRequest requisicao(byte[] corpo) {
+        var request = new MockHttpServletRequest("POST", "/emprestimos/lote");
+        request.addHeader(IdempotenciaFilter.CABECALHO, UUID.randomUUID().toString());
+        request.setContent(corpo);
+        return request;
+    }
+
+    // Toda chave é nova: o teste trata só da leitura do corpo
+    private static class Reservas implements IdempotenciaService {
+
+        private final AtomicInteger feitas = new AtomicInteger();
+
+        @Override
+        public ReservaIdempotencia reservar(String chave, String impressao) {
+            feitas.incrementAndGet();
+            return ReservaIdempotencia.nova(UUID.randomUUID());
+        }
+
+        @Override
+        public boolean concluir(String chave, UUID token, RespostaArmazenada resposta) {
+            return true;
+        }
+
+        @Override
+        public void liberar(String chave, UUID token) {
+        }
+
+        @Override
+        public int removerExpiradas() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.biblioteca.config.limite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Limites do balde de tokens, com o relógio controlado pelo teste: a rajada
+ * inicial, a reposição a cada intervalo, o teto da capacidade depois de um
+ * período ocioso e a disputa entre threads pelo mesmo balde.
+ */
+class BaldeTokensTest {
+
+    private static final long T0 = 1_000_000_000_000L;
+
+    // 10 por segundo: um token a cada 100 ms
+    private static final Limite LIMITE = new Limite(3, 10);
+    private static final long INTERVALO = 100_000_000L;
+
+    @Test
+    void rajadaAteACapacidadeEEsperaAteOProximoToken() {
+        var balde = new BaldeTokens(LIMITE, T0);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(balde.consumir(T0)).isZero();
+        }
+        assertThat(balde.consumir(T0)).isEqualTo(INTERVALO);
+        // A recusa não consome: a espera informada continua a mesma
+        assertThat(balde.consumir(T0)).isEqualTo(INTERVALO);
+        assertThat(balde.consumir(T0 + INTERVALO / 2)).isEqualTo(INTERVALO / 2);
+    }
+
+    @Test
+    void cadaIntervaloRepoeUmToken() {
+        var balde = new BaldeTokens(LIMITE, T0);
+        for (int i = 0; i < 3; i++) {
+            balde.consumir(T0);
+        }
+
+        for (int i = 1; i <= 5; i++) {
+            long agora = T0 + i * INTERVALO;
+            assertThat(balde.consumir(agora)).isZero();
+            assertThat(balde.consumir(agora)).isEqualTo(INTERVALO);
+        }
+    }
+
+    @Test
+    void periodoOciosoNaoAcumulaAlemDaCapacidade() {
+        var balde = new BaldeTokens(LIMITE, T0);
+        long depois = T0 + 3_600 * 1_000_000_000L;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(balde.consumir(depois)).isZero();
+        }
+        assertThat(balde.consumir(depois)).isEqualTo(INTERVALO);
+    }
+
+    @Test
+    void threadsSimultaneasNaoPassamDaCapacidade() throws Exception {
+        var balde = new BaldeTokens(new Limite(100, 1), T0);
+        int threads = 8;
+        int tentativas = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> aceitas = new ArrayList<>(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                aceitas.add(executor.submit(() -> {
+                    largada.await();
+                    int total = 0;
+                    for (int i = 0; i < tentativas; i++) {
+                        if (balde.consumir(T0) == 0) {
+                            total++;
+                        }
+                    }
+                    return total;
+                }));
+            }
+            largada.countDown();
+            int total = 0;
+            for (Future<Integer> parcial : aceitas) {
+                total += parcial.get();
+            }
+            assertThat(total).isEqualTo(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void limiteRecusaCapacidadeOuTaxaNaoPositivas() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new Limite(0, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new Limite(1, 0));
+    }
+}
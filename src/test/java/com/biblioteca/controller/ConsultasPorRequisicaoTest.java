@@ -0,0 +1,174 @@
+package com.biblioteca.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.biblioteca.domain.model.Categoria;
+import com.biblioteca.domain.model.Emprestimo;
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.Usuario;
+import com.biblioteca.domain.repository.CategoriaRepository;
+import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.domain.repository.UsuarioRepository;
+import com.biblioteca.service.EmprestimoService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Orçamento de comandos SQL por listagem: uma página inteira deve custar um
+ * número fixo de consultas, sem N+1 nas associações de livros e empréstimos.
+ * Conta os comandos preparados pelas estatísticas do Hibernate
+ * ({@code hibernate.generate_statistics}), com o cache de segundo nível vazio.
+ */
+// As estatísticas somam todas as sessões: o acompanhamento periódico do índice
+// de busca, que também consulta o banco, fica parado durante o teste
+@SpringBootTest(properties = { "biblioteca.limite.habilitado=false", "biblioteca.busca.acompanhamento=3600000" })
+@AutoConfigureMockMvc
+class ConsultasPorRequisicaoTest {
+
+    private static final int LIVROS = 30;
+    private static final int EMPRESTIMOS_POR_LEITOR = 10;
+
+    // Populados uma única vez, no primeiro teste
+    private static Long leitorFrequente;
+    private static Long livroRotativo;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EmprestimoService emprestimoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void popular() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (leitorFrequente != null) {
+            return;
+        }
+        for (int c = 0; c < 3; c++) {
+            Categoria categoria = new Categoria();
+            categoria.setNome("Categoria consultas " + c);
+            categoriaRepository.save(categoria);
+            for (int i = 0; i < LIVROS / 3; i++) {
+                Livro livro = new Livro();
+                livro.setTitulo("Livro " + c + "-" + i);
+                livro.setAutor("Autor " + i);
+                livro.setIsbn("consultas-" + c + "-" + i);
+                livro.setCategoria(categoria);
+                livro = livroRepository.save(livro);
+
+                Usuario usuario = new Usuario();
+                usuario.setNome("Leitor " + c + "-" + i);
+                usuario.setEmail("consultas-" + c + "-" + i + "@biblioteca.com");
+                usuario.setCpf("consultas-" + c + "-" + i);
+                usuario = usuarioRepository.save(usuario);
+                emprestimoService.realizarEmprestimo(usuario.getId(), livro.getId(), 14);
+            }
+        }
+        // Os empréstimos acima passam a estar vencidos: cada um tem livro e leitor próprios
+        jdbcTemplate.update("update tb_emprestimo set data_prevista_devolucao = ? where livro_id in "
+                + "(select id from tb_livro where isbn like 'consultas-%')", LocalDate.now().minusDays(3));
+
+        // Um leitor com vários livros diferentes e um livro emprestado a vários
+        // leitores diferentes, para que uma consulta por associação apareça na contagem
+        Usuario frequente = usuario("frequente");
+        Livro rotativo = livro("rotativo");
+        for (int i = 0; i < EMPRESTIMOS_POR_LEITOR; i++) {
+            emprestimoService.realizarEmprestimo(frequente.getId(), livro("frequente-" + i).getId(), 14);
+            Emprestimo emprestimo = emprestimoService.realizarEmprestimo(usuario("rotativo-" + i).getId(), rotativo.getId(), 14);
+            emprestimoService.realizarDevolucao(emprestimo.getId());
+        }
+        leitorFrequente = frequente.getId();
+        livroRotativo = rotativo.getId();
+    }
+
+    private Livro livro(String sufixo) {
+        Livro livro = new Livro();
+        livro.setTitulo("Livro " + sufixo);
+        livro.setAutor("Autor " + sufixo);
+        livro.setIsbn("consultas-" + sufixo);
+        return livroRepository.save(livro);
+    }
+
+    private Usuario usuario(String sufixo) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Leitor " + sufixo);
+        usuario.setEmail("consultas-" + sufixo + "@biblioteca.com");
+        usuario.setCpf("consultas-" + sufixo);
+        return usuarioRepository.save(usuario);
+    }
+
+    // Versão da coleção, para o ETag, e a página; a categoria não dispara consulta por livro
+    @Test
+    void listagemCompletaDeLivros() throws Exception {
+        assertThat(comandos("/livros?tamanho=20")).isLessThanOrEqualTo(2);
+    }
+
+    // Versão da coleção e a página da projeção resumida
+    @Test
+    void listagemResumidaDeLivros() throws Exception {
+        assertThat(comandos("/livros?tamanho=20&view=summary")).isLessThanOrEqualTo(2);
+    }
+
+    // Só a página: o DTO usa os ids de usuário e livro sem carregar as associações
+    @Test
+    void listagemDeEmprestimos() throws Exception {
+        assertThat(comandos("/emprestimos?tamanho=20")).isLessThanOrEqualTo(1);
+    }
+
+    // Dez empréstimos de livros diferentes numa única consulta
+    @Test
+    void emprestimosPorUsuario() throws Exception {
+        assertThat(comandos("/emprestimos/usuario/" + leitorFrequente + "?tamanho=20")).isLessThanOrEqualTo(1);
+    }
+
+    // Dez empréstimos de leitores diferentes numa única consulta
+    @Test
+    void emprestimosPorLivro() throws Exception {
+        assertThat(comandos("/emprestimos/livro/" + livroRotativo + "?tamanho=20")).isLessThanOrEqualTo(1);
+    }
+
+    // Trinta empréstimos vencidos, cada um com livro e leitor próprios
+    @Test
+    void emprestimosAtrasados() throws Exception {
+        assertThat(comandos("/emprestimos/atrasados?tamanho=20")).isLessThanOrEqualTo(1);
+    }
+
+    // Comandos preparados durante a requisição, partindo do cache de segundo nível vazio
+    private long comandos(String url) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        estatisticas.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return estatisticas.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,98 @@
+package com.biblioteca.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.Usuario;
+import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.domain.repository.UsuarioRepository;
+
+/**
+ * Milhares de checkouts simultâneos do mesmo livro pela API: o UPDATE
+ * condicional de {@code LivroRepository.reservar} deve deixar exatamente um
+ * vencer, sem empréstimos duplicados.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "biblioteca.limite.habilitado=false")
+class EmprestimoConcorrenciaTest {
+
+    private static final int TENTATIVAS = 2000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void apenasUmCheckoutSimultaneoDoMesmoLivroVence() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Leitora");
+        usuario.setEmail("concorrencia@biblioteca.com");
+        usuario.setCpf("concorrencia-1");
+        usuario = usuarioRepository.save(usuario);
+
+        Livro livro = new Livro();
+        livro.setTitulo("Dom Casmurro");
+        livro.setAutor("Machado de Assis");
+        livro.setIsbn("concorrencia-978");
+        livro = livroRepository.save(livro);
+
+        String url = "/emprestimos/realizar?usuarioId=" + usuario.getId() + "&livroId=" + livro.getId();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<HttpStatusCode>> respostas = new ArrayList<>(TENTATIVAS);
+        try {
+            for (int i = 0; i < TENTATIVAS; i++) {
+                respostas.add(executor.submit(() -> {
+                    largada.await();
+                    return rest.postForEntity(url, null, String.class).getStatusCode();
+                }));
+            }
+            largada.countDown();
+
+            List<HttpStatusCode> status = new ArrayList<>(TENTATIVAS);
+            for (Future<HttpStatusCode> resposta : respostas) {
+                status.add(resposta.get(60, TimeUnit.SECONDS));
+            }
+            Map<HttpStatusCode, Long> porStatus = status.stream()
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+            assertThat(porStatus).containsOnlyKeys(HttpStatus.CREATED, HttpStatus.CONFLICT);
+            assertThat(porStatus.get(HttpStatus.CREATED)).isEqualTo(1);
+            assertThat(porStatus.get(HttpStatus.CONFLICT)).isEqualTo(TENTATIVAS - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(livroRepository.findById(livro.getId()).orElseThrow().getDisponivel()).isFalse();
+        assertThat(jdbc.queryForObject("select count(*) from tb_emprestimo where livro_id = ?", Long.class, livro.getId()))
+                .isEqualTo(1);
+    }
+}
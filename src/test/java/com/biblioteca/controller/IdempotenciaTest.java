@@ -0,0 +1,104 @@
+package com.biblioteca.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.Usuario;
+import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.domain.repository.UsuarioRepository;
+
+/**
+ * Requisições com {@code Idempotency-Key} pela API: a repetição recebe a
+ * resposta original sem executar o empréstimo de novo, a mesma chave numa
+ * requisição diferente é recusada, e a chave de outro cliente é outra operação.
+ */
+@SpringBootTest(properties = { "biblioteca.limite.habilitado=false", "biblioteca.clientes.chaves=terminal" })
+@AutoConfigureMockMvc
+class IdempotenciaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void repeticaoRecebeARespostaOriginalSemExecutarDeNovo() throws Exception {
+        Usuario usuario = usuario("idempotencia-repeticao");
+        String url = "/emprestimos/realizar?usuarioId=" + usuario.getId() + "&livroId=" + livro("idempotencia-repeticao").getId();
+
+        String original = mockMvc.perform(post(url).header("Idempotency-Key", "repeticao-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post(url).header("Idempotency-Key", "repeticao-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().string(original));
+
+        assertThat(emprestimos(usuario)).isEqualTo(1);
+    }
+
+    @Test
+    void mesmaChaveEmOutraRequisicaoRecebe422() throws Exception {
+        Usuario usuario = usuario("idempotencia-divergente");
+        String url = "/emprestimos/realizar?usuarioId=" + usuario.getId() + "&livroId=";
+
+        mockMvc.perform(post(url + livro("idempotencia-divergente-1").getId()).header("Idempotency-Key", "divergente-1"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(url + livro("idempotencia-divergente-2").getId()).header("Idempotency-Key", "divergente-1"))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(emprestimos(usuario)).isEqualTo(1);
+    }
+
+    @Test
+    void mesmaChaveDeOutroClienteEhOutraOperacao() throws Exception {
+        Usuario usuario = usuario("idempotencia-clientes");
+        String url = "/emprestimos/realizar?usuarioId=" + usuario.getId() + "&livroId=" + livro("idempotencia-clientes").getId();
+
+        mockMvc.perform(post(url).header("Idempotency-Key", "clientes-1"))
+                .andExpect(status().isCreated());
+        // Executada de novo: o livro já está emprestado
+        mockMvc.perform(post(url).header("Idempotency-Key", "clientes-1").header("X-Api-Key", "terminal"))
+                .andExpect(status().isConflict())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    private int emprestimos(Usuario usuario) {
+        return jdbc.queryForObject("select count(*) from tb_emprestimo where usuario_id = ?", Integer.class, usuario.getId());
+    }
+
+    private Usuario usuario(String chave) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Leitor " + chave);
+        usuario.setEmail(chave + "@biblioteca.com");
+        usuario.setCpf(chave);
+        return usuarioRepository.save(usuario);
+    }
+
+    private Livro livro(String isbn) {
+        Livro livro = new Livro();
+        livro.setTitulo("O Alienista");
+        livro.setAutor("Machado de Assis");
+        livro.setIsbn(isbn);
+        return livroRepository.save(livro);
+    }
+}
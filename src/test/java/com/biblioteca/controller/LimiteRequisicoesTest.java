@@ -0,0 +1,49 @@
+package com.biblioteca.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Limite de requisições atrás de um proxy: o teste chega pelo loopback, um dos
+ * proxies confiáveis por padrão, e cada endereço de origem informado no
+ * {@code X-Forwarded-For} tem o seu próprio balde. A capacidade de busca,
+ * reduzida a uma requisição, substitui a do {@code application.yml}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "biblioteca.limite.habilitado=true", "biblioteca.limite.busca.capacidade=1",
+        "biblioteca.limite.busca.por-segundo=0.001" })
+class LimiteRequisicoesTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void clientesAtrasDoProxyTemBaldesProprios() {
+        assertThat(buscar("203.0.113.10")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(buscar("203.0.113.10")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(buscar("203.0.113.11")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void enderecosAcrescentadosPeloClienteNaoRenovamOLimite() {
+        // Só o último salto antes do proxy confiável identifica o cliente
+        assertThat(buscar("198.51.100.1, 203.0.113.20")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(buscar("198.51.100.2, 203.0.113.20")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private HttpStatusCode buscar(String encaminhadoPara) {
+        var cabecalhos = new HttpHeaders();
+        cabecalhos.set("X-Forwarded-For", encaminhadoPara);
+        return rest.exchange("/livros/titulo/limite", HttpMethod.GET, new HttpEntity<>(cabecalhos), String.class)
+                .getStatusCode();
+    }
+}
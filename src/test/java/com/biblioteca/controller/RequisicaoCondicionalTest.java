@@ -0,0 +1,118 @@
+package com.biblioteca.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.Usuario;
+import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.domain.repository.UsuarioRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * GETs condicionais de livros: a ETag de um registro vem da entrada do cache de
+ * leitura, sem consultar o banco, e muda a cada alteração ou empréstimo; a da
+ * listagem muda a cada transação que altera algum livro.
+ */
+// As estatísticas somam todas as sessões: o acompanhamento periódico do índice
+// de busca, que também consulta o banco, fica parado durante o teste
+@SpringBootTest(properties = { "biblioteca.limite.habilitado=false", "biblioteca.busca.acompanhamento=3600000" })
+@AutoConfigureMockMvc
+class RequisicaoCondicionalTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void estatisticas() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void registroEmCacheRespondeNaoModificadoSemConsultarOBanco() throws Exception {
+        Livro livro = livro("condicional-cache");
+        String etag = etag("/livros/" + livro.getId());
+
+        estatisticas.clear();
+        mockMvc.perform(get("/livros/" + livro.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void alteracaoEEmprestimoTrocamAEtagDoRegistro() throws Exception {
+        Livro livro = livro("condicional-alteracao");
+        String url = "/livros/" + livro.getId();
+        String original = etag(url);
+
+        mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"titulo\":\"Quincas Borba\",\"autor\":\"Machado de Assis\",\"isbn\":\"condicional-alteracao\",\"disponivel\":true}"))
+                .andExpect(status().isOk());
+        String alterada = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, original))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(alterada).isNotEqualTo(original);
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Leitor condicional");
+        usuario.setEmail("condicional@biblioteca.com");
+        usuario.setCpf("condicional-1");
+        usuario = usuarioRepository.save(usuario);
+        mockMvc.perform(post("/emprestimos/realizar?usuarioId=" + usuario.getId() + "&livroId=" + livro.getId()))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, alterada))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void inclusaoTrocaAEtagDaListagem() throws Exception {
+        livro("condicional-listagem-1");
+        String etag = etag("/livros");
+        mockMvc.perform(get("/livros").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        livro("condicional-listagem-2");
+        mockMvc.perform(get("/livros").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private Livro livro(String isbn) throws Exception {
+        String local = mockMvc.perform(post("/livros").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"titulo\":\"Dom Casmurro\",\"autor\":\"Machado de Assis\",\"isbn\":\"" + isbn + "\",\"disponivel\":true}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        return livroRepository.findById(Long.valueOf(local.substring(local.lastIndexOf('/') + 1))).orElseThrow();
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
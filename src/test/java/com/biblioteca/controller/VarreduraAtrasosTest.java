@@ -0,0 +1,128 @@
+package com.biblioteca.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.biblioteca.domain.model.Emprestimo;
+import com.biblioteca.domain.model.Livro;
+import com.biblioteca.domain.model.Usuario;
+import com.biblioteca.domain.repository.LivroRepository;
+import com.biblioteca.domain.repository.UsuarioRepository;
+import com.biblioteca.service.EmprestimoService;
+
+/**
+ * Marco da varredura de atrasos: a primeira varredura o cria mesmo quando
+ * várias começam juntas, e o cadastro de empréstimos não aceita um empréstimo
+ * ativo cuja previsão já ficou para trás dele.
+ */
+@SpringBootTest(properties = { "biblioteca.limite.habilitado=false", "biblioteca.atrasos.intervalo=PT24H" })
+@AutoConfigureMockMvc
+class VarreduraAtrasosTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmprestimoService emprestimoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void primeirasVarredurasSimultaneasCriamUmUnicoMarco() throws Exception {
+        jdbc.update("delete from tb_marco_processamento");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> varreduras = new ArrayList<>(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                varreduras.add(executor.submit(() -> {
+                    largada.await();
+                    return emprestimoService.marcarAtrasados(100);
+                }));
+            }
+            largada.countDown();
+            for (Future<Integer> varredura : varreduras) {
+                varredura.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbc.queryForObject("select count(*) from tb_marco_processamento where tarefa = 'varredura-atrasos'",
+                Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void cadastroRecusaEmprestimoAtivoJaVencido() throws Exception {
+        Usuario usuario = usuario("varredura-cadastro");
+        Livro livro = livro("varredura-cadastro");
+        String corpo = "{\"usuario\":{\"id\":" + usuario.getId() + "},\"livro\":{\"id\":" + livro.getId()
+                + "},\"dataEmprestimo\":\"%s\",\"dataPrevistaDevolucao\":\"%s\",\"status\":\"ATIVO\"}";
+        LocalDate hoje = LocalDate.now();
+
+        mockMvc.perform(post("/emprestimos").contentType(MediaType.APPLICATION_JSON)
+                .content(corpo.formatted(hoje.minusDays(10), hoje.minusDays(3))))
+                .andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(post("/emprestimos").contentType(MediaType.APPLICATION_JSON)
+                .content(corpo.formatted(hoje, hoje.plusDays(7))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void atualizacaoNaoReativaEmprestimoJaVencido() throws Exception {
+        Usuario usuario = usuario("varredura-atualizacao");
+        Livro livro = livro("varredura-atualizacao");
+        Emprestimo emprestimo = emprestimoService.realizarEmprestimo(usuario.getId(), livro.getId(), 7);
+        emprestimoService.realizarDevolucao(emprestimo.getId());
+        jdbc.update("update tb_emprestimo set data_prevista_devolucao = ? where id = ?",
+                LocalDate.now().minusDays(30), emprestimo.getId());
+
+        mockMvc.perform(put("/emprestimos/" + emprestimo.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"ATIVO\"}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    private Usuario usuario(String chave) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Leitor " + chave);
+        usuario.setEmail(chave + "@biblioteca.com");
+        usuario.setCpf(chave);
+        return usuarioRepository.save(usuario);
+    }
+
+    private Livro livro(String isbn) {
+        Livro livro = new Livro();
+        livro.setTitulo("Memórias Póstumas de Brás Cubas");
+        livro.setAutor("Machado de Assis");
+        livro.setIsbn(isbn);
+        return livroRepository.save(livro);
+    }
+}